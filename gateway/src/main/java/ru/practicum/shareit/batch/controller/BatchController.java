@@ -0,0 +1,149 @@
+package ru.practicum.shareit.batch.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.batch.controller.dto.BatchItemRequest;
+import ru.practicum.shareit.batch.controller.dto.BatchItemResponse;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.mapper.StateConverter;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.exception.dto.ErrorResponse;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.limit.RequestLimitFilter;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.user.controller.UserController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Runs several GET requests to the gateway API in one round trip. Each sub-request is charged to the rate
+ * limit of its own endpoint group and handled by the same controller method as a single request, the calls
+ * to the server run concurrently and the responses come back in request order.
+ */
+@Controller
+@RequestMapping(path = "/batch")
+@Slf4j
+@Validated
+public class BatchController {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_BATCH_SIZE = 20;
+
+    private final BatchRoutes routes;
+    private final RequestLimitFilter limiter;
+    private final ObjectMapper objectMapper;
+
+    public BatchController(BookingController bookingController,
+                           ItemController itemController,
+                           UserController userController,
+                           ItemRequestController itemRequestController,
+                           StateConverter stateConverter,
+                           ObjectProvider<RequestLimitFilter> limiter,
+                           ObjectMapper objectMapper) {
+        this.routes = new BatchRoutes(bookingController, itemController, userController, itemRequestController,
+                stateConverter);
+        this.limiter = limiter.getIfAvailable();
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping
+    @ResponseBody
+    public Mono<List<BatchItemResponse>> execute(@RequestHeader(value = X_SHARER_USER_ID, required = false) Long userId,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                 List<@Valid BatchItemRequest> requests,
+                                                 HttpServletRequest httpRequest) {
+        log.info("Batch of {} requests, userId={}", requests.size(), userId);
+        List<Mono<ResponseEntity<byte[]>>> calls = requests.stream()
+                .map(request -> dispatch(request.getPath(), userId, httpRequest))
+                .collect(Collectors.toList());
+        return Flux.fromIterable(calls)
+                .flatMapSequential(call -> call.onErrorResume(this::unavailable))
+                .map(BatchController::toItemResponse)
+                .collectList();
+    }
+
+    /**
+     * Runs on the request thread: the rate limit is charged and the controller called before subscription.
+     */
+    private Mono<ResponseEntity<byte[]>> dispatch(String pathAndQuery, Long userId, HttpServletRequest httpRequest) {
+        int queryStart = pathAndQuery.indexOf('?');
+        String path = queryStart < 0 ? pathAndQuery : pathAndQuery.substring(0, queryStart);
+        String query = queryStart < 0 ? null : pathAndQuery.substring(queryStart + 1);
+        if (!BatchRoutes.isSafe(path)) {
+            return error(HttpStatus.BAD_REQUEST, "Недопустимый путь");
+        }
+        if (limiter != null && limiter.tryConsume(httpRequest, path) > 0) {
+            return error(HttpStatus.TOO_MANY_REQUESTS, "Слишком много запросов");
+        }
+        try {
+            Mono<ResponseEntity<byte[]>> response = routes.dispatch(path, query, userId);
+            return response != null ? response : error(HttpStatus.NOT_FOUND, "Неизвестный путь " + path);
+        } catch (ValidationException | ConstraintViolationException e) {
+            log.error("Ошибка входящих данных {}", e.getMessage());
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * A transport error of one sub-request, such as a refused connection or a read timeout, only sets
+     * its own status instead of failing the whole batch.
+     */
+    private Mono<ResponseEntity<byte[]>> unavailable(Throwable e) {
+        log.error("Ошибка вызова сервера в пакете: {}", e.toString());
+        return isTimeout(e)
+                ? error(HttpStatus.GATEWAY_TIMEOUT, "Сервер не ответил вовремя")
+                : error(HttpStatus.BAD_GATEWAY, "Сервер недоступен");
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<ResponseEntity<byte[]>> error(HttpStatus status, String message) {
+        try {
+            return Mono.just(ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(new ErrorResponse(message))));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static BatchItemResponse toItemResponse(ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        if (body == null || body.length == 0) {
+            return new BatchItemResponse(response.getStatusCodeValue(), null);
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        return new BatchItemResponse(response.getStatusCodeValue(),
+                isJson(response.getHeaders().getContentType()) ? new RawValue(text) : text);
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return contentType != null
+                && ("json".equals(contentType.getSubtype()) || "json".equals(contentType.getSubtypeSuffix()));
+    }
+}
@@ -0,0 +1,210 @@
+package ru.practicum.shareit.batch.controller;
+
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.mapper.StateConverter;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.user.controller.UserController;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * GET endpoints available in a batch. A sub-request is matched against the path templates below and
+ * handed to the same controller method as a single request, so it goes through the controller's
+ * parameter validation. Only plain path segments are accepted: no dot segments and no percent-encoding.
+ * The query string is URL-encoded as in a regular request and is decoded here.
+ */
+class BatchRoutes {
+    private static final Pattern SAFE_PATH = Pattern.compile("(/[A-Za-z0-9_-]+)+");
+
+    private final List<Route> routes = new ArrayList<>();
+    private final StateConverter stateConverter;
+
+    BatchRoutes(BookingController bookings,
+                ItemController items,
+                UserController users,
+                ItemRequestController requests,
+                StateConverter stateConverter) {
+        this.stateConverter = stateConverter;
+        route("/bookings", call -> bookings.getBookings(call.userId(), call.state(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor")));
+        route("/bookings/owner", call -> bookings.getAllByOwner(call.userId(), call.state(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor")));
+        route("/bookings/stats", call -> bookings.getStats(call.userId()));
+        route("/bookings/owner/stats", call -> bookings.getStatsByOwner(call.userId()));
+        route("/bookings/{bookingId}", call -> bookings.getBooking(call.userId(), call.id("bookingId")));
+        route("/items", call -> items.getAll(call.userId(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor")));
+        route("/items/search", call -> items.search(call.requiredParam("text"), call.userId(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor"),
+                call.dateTime("start"), call.dateTime("end")));
+        route("/items/{itemId}", call -> items.getById(call.id("itemId"), call.userId()));
+        route("/items/{itemId}/availability", call -> items.getAvailability(call.id("itemId"), call.userId(),
+                call.requiredDateTime("from"), call.requiredDateTime("to")));
+        route("/users", call -> users.getAll());
+        route("/users/{userId}", call -> users.getById(call.id("userId")));
+        route("/requests", call -> requests.findAllOwnRequest(call.userId(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor")));
+        route("/requests/all", call -> requests.findAllOtherRequest(call.userId(),
+                call.integer("from", 0), call.integer("size", 10), call.param("cursor")));
+        route("/requests/{requestId}", call -> requests.findById(call.userId(), call.id("requestId")));
+    }
+
+    static boolean isSafe(String path) {
+        return SAFE_PATH.matcher(path).matches();
+    }
+
+    /**
+     * Returns the controller's response, or null if no template matches path.
+     * Throws ValidationException for a parameter the controller would reject.
+     */
+    Mono<ResponseEntity<byte[]>> dispatch(String path, String query, Long userId) {
+        String[] segments = path.substring(1).split("/");
+        for (Route route : routes) {
+            Map<String, String> variables = route.match(segments);
+            if (variables != null) {
+                return route.handler.apply(new Call(variables, parseQuery(query), userId));
+            }
+        }
+        return null;
+    }
+
+    private void route(String template, Function<Call, Mono<ResponseEntity<byte[]>>> handler) {
+        routes.add(new Route(template.substring(1).split("/"), handler));
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                parameters.putIfAbsent(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            } else if (eq < 0 && !pair.isEmpty()) {
+                parameters.putIfAbsent(decode(pair), "");
+            }
+        }
+        return parameters;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Некорректное кодирование параметров запроса");
+        }
+    }
+
+    private static class Route {
+        private final String[] segments;
+        private final Function<Call, Mono<ResponseEntity<byte[]>>> handler;
+
+        Route(String[] segments, Function<Call, Mono<ResponseEntity<byte[]>>> handler) {
+            this.segments = segments;
+            this.handler = handler;
+        }
+
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> variables = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    variables.put(segments[i].substring(1, segments[i].length() - 1), path[i]);
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return variables;
+        }
+    }
+
+    private class Call {
+        private final Map<String, String> variables;
+        private final Map<String, String> parameters;
+        private final Long userId;
+
+        Call(Map<String, String> variables, Map<String, String> parameters, Long userId) {
+            this.variables = variables;
+            this.parameters = parameters;
+            this.userId = userId;
+        }
+
+        Long userId() {
+            if (userId == null) {
+                throw new ValidationException("Не указан заголовок X-Sharer-User-Id");
+            }
+            return userId;
+        }
+
+        Long id(String name) {
+            try {
+                return Long.valueOf(variables.get(name));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Некорректный идентификатор " + name);
+            }
+        }
+
+        String param(String name) {
+            return parameters.get(name);
+        }
+
+        String requiredParam(String name) {
+            String value = parameters.get(name);
+            if (value == null) {
+                throw new ValidationException("Не указан параметр " + name);
+            }
+            return value;
+        }
+
+        Integer integer(String name, int defaultValue) {
+            String value = parameters.get(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return Integer.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Параметр " + name + " должен быть целым числом");
+            }
+        }
+
+        BookingState state() {
+            return stateConverter.convert(parameters.getOrDefault("state", BookingState.ALL.name()));
+        }
+
+        LocalDateTime dateTime(String name) {
+            String value = parameters.get(name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME);
+            } catch (DateTimeParseException e) {
+                throw new ValidationException("Параметр " + name + " должен быть датой в формате ISO");
+            }
+        }
+
+        LocalDateTime requiredDateTime(String name) {
+            requiredParam(name);
+            return dateTime(name);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.batch.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchItemRequest {
+    /**
+     * Gateway path with a URL-encoded query string, for example /items/search?text=drill%20set&size=10.
+     * The path itself may only consist of plain segments of letters, digits, '-' and '_'.
+     */
+    @NotNull
+    private String path;
+}
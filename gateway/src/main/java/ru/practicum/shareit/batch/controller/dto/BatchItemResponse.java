@@ -0,0 +1,18 @@
+package ru.practicum.shareit.batch.controller.dto;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResponse {
+    private int status;
+
+    /**
+     * A JSON response of the server embedded as it is ({@link RawValue}), any other body as a JSON string.
+     */
+    private Object body;
+}
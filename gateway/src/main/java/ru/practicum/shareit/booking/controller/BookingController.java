@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
@@ -26,41 +27,55 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
-											  @RequestParam(defaultValue = "ALL") BookingState state,
-											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+	public Mono<ResponseEntity<byte[]>> getBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
+											        @RequestParam(defaultValue = "ALL") BookingState state,
+											        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+											        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+											        @RequestParam(required = false) String cursor) {
 		log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-		return bookingClient.getBookings(userId, state, from, size);
+		return bookingClient.getBookings(userId, state, from, size, cursor);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
-											    @RequestParam(defaultValue = "ALL") BookingState state,
-												@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-												@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+	public Mono<ResponseEntity<byte[]>> getAllByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
+											          @RequestParam(defaultValue = "ALL") BookingState state,
+												      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+												      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+												      @RequestParam(required = false) String cursor) {
 		log.info("Get booking by owner with state {}, userId={}, from={}, size={}", state, userId, from, size);
-		return bookingClient.getBookingsByOwner(userId, state, from, size);
+		return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+	}
+
+	@GetMapping("/stats")
+	public Mono<ResponseEntity<byte[]>> getStats(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+		log.info("Get booking stats, userId={}", userId);
+		return bookingClient.getStats(userId);
+	}
+
+	@GetMapping("/owner/stats")
+	public Mono<ResponseEntity<byte[]>> getStatsByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+		log.info("Get booking stats by owner, userId={}", userId);
+		return bookingClient.getStatsByOwner(userId);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> create(@RequestHeader(X_SHARER_USER_ID) Long userId,
-										 @RequestBody @Valid BookItemRequestDto requestDto) {
+	public Mono<ResponseEntity<byte[]>> create(@RequestHeader(X_SHARER_USER_ID) Long userId,
+										       @RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		return bookingClient.bookItem(userId, requestDto);
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> update(@RequestHeader(X_SHARER_USER_ID) Long userId,
-								 		 @RequestParam() boolean approved,
-								 		 @PathVariable Long bookingId) {
+	public Mono<ResponseEntity<byte[]>> update(@RequestHeader(X_SHARER_USER_ID) Long userId,
+								 		       @RequestParam() boolean approved,
+								 		       @PathVariable Long bookingId) {
 		log.info("Updating userId={}", userId);
 		return bookingClient.update(bookingId, userId, approved);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@RequestHeader(X_SHARER_USER_ID) long userId,
-											 @PathVariable Long bookingId) {
+	public Mono<ResponseEntity<byte[]>> getBooking(@RequestHeader(X_SHARER_USER_ID) long userId,
+											       @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
@@ -1,98 +1,176 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-
-import org.springframework.http.HttpEntity;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Sends requests to the server without blocking the calling thread. Every method returns a cold Mono,
+ * nothing is sent until Spring MVC subscribes to the Mono returned by a controller.
+ */
 public class BaseClient {
-    protected final RestTemplate rest;
-
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
-    }
-
-    protected ResponseEntity<Object> get(String path) {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final byte[] RESPONSE_TOO_LARGE =
+            "{\"error\":\"Ответ сервера слишком большой\"}".getBytes(StandardCharsets.UTF_8);
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection",
+            "keep-alive",
+            "transfer-encoding",
+            "te",
+            "trailer",
+            "upgrade",
+            "proxy-authenticate",
+            "proxy-authorization",
+            "content-length",
+            "date"
+    );
+
+    protected final WebClient webClient;
+    private final ClientGuard guard;
+    private final Map<String, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+
+    public BaseClient(WebClient webClient, ClientGuard guard) {
+        this.webClient = webClient;
+        this.guard = guard;
+    }
+
+    protected Mono<ResponseEntity<byte[]>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<byte[]>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<byte[]>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    /**
+     * Copies the body to the server as it is read instead of deserializing it first.
+     * The servlet input stream is blocking, so it is read on the bounded elastic scheduler.
+     */
+    protected Mono<ResponseEntity<byte[]>> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        Flux<DataBuffer> buffers = DataBufferUtils
+                .readInputStream(() -> body, DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        return guard.protect(webClient.post()
+                .uri(path)
+                .headers(headers -> headers.addAll(defaultHeaders(userId)))
+                .contentType(contentType)
+                .body(BodyInserters.fromDataBuffers(buffers))
+                .exchangeToMono(BaseClient::prepareGatewayResponse));
+    }
+
+    protected <T> Mono<ResponseEntity<byte[]>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<byte[]>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<byte[]>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    protected static String withCursor(String path, Map<String, Object> parameters, @Nullable String cursor) {
+        if (cursor == null) {
+            return path;
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        parameters.put("cursor", cursor);
+        return path + "&cursor={cursor}";
+    }
+
+    private <T> Mono<ResponseEntity<byte[]>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        Mono<ResponseEntity<byte[]>> response = guard.protect(
+                requestWithBody.exchangeToMono(BaseClient::prepareGatewayResponse));
+        if (method != HttpMethod.GET) {
+            return response;
+        }
+        return coalesce(path + (parameters != null ? new TreeMap<>(parameters) : "") + "#" + userId, response);
+    }
+
+    /**
+     * Lets concurrent identical GETs share one server call. The first caller starts the call, everyone
+     * arriving before it completes gets the same response, and the next caller after that starts a new call.
+     */
+    private Mono<ResponseEntity<byte[]>> coalesce(String key, Mono<ResponseEntity<byte[]>> response) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, response)));
+    }
+
+    /**
+     * A finished call removes only its own entry, never one a later caller has put under the same key.
+     */
+    private Mono<ResponseEntity<byte[]>> share(String key, Mono<ResponseEntity<byte[]>> response) {
+        AtomicReference<Mono<ResponseEntity<byte[]>>> shared = new AtomicReference<>();
+        shared.set(response
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .cache());
+        return shared.get();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +183,32 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    /**
+     * Hands the server response to the caller as it came: the status, the end-to-end headers and the body
+     * as raw bytes, which are never parsed as JSON in the gateway. The body is buffered rather than streamed
+     * because coalesced and cached GETs need all of it; spring.codec.max-in-memory-size bounds it,
+     * and a larger body is answered with 502.
+     */
+    private static Mono<ResponseEntity<byte[]>> prepareGatewayResponse(ClientResponse response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.rawStatusCode())
+                .headers(forwardedHeaders(response.headers().asHttpHeaders()));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
+        return response.bodyToMono(byte[].class)
+                .map(responseBuilder::body)
+                .defaultIfEmpty(responseBuilder.build())
+                .onErrorResume(DataBufferLimitException.class, e -> Mono.just(
+                        ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(RESPONSE_TOO_LARGE)));
+    }
 
-        return responseBuilder.build();
+    private static HttpHeaders forwardedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
     }
 }
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Count-based circuit breaker. Closed, it records the outcome of the last window-size calls and opens
+ * once their failure rate reaches the threshold. Open, it rejects calls until the wait is over and then
+ * lets a few probe calls through: all of them succeeding closes it again, any failure reopens it.
+ * Every state change starts a new epoch, and outcomes of calls permitted in an earlier epoch are ignored.
+ */
+class CircuitBreaker {
+    static final long REJECTED = -1;
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long waitInOpenNanos;
+    private final int halfOpenCalls;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSucceeded;
+
+    CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls, long waitInOpenNanos,
+                   int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.waitInOpenNanos = waitInOpenNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new boolean[slidingWindowSize];
+    }
+
+    /**
+     * Returns the epoch to pass to {@link #onResult} or {@link #onCancel}, or REJECTED.
+     */
+    synchronized long tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openedAt < waitInOpenNanos) {
+                return REJECTED;
+            }
+            transitionTo(State.HALF_OPEN, nowNanos);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return REJECTED;
+            }
+            halfOpenPermits--;
+        }
+        return epoch;
+    }
+
+    synchronized void onResult(long permitEpoch, boolean failed, long nowNanos) {
+        if (permitEpoch != epoch) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                transitionTo(State.OPEN, nowNanos);
+            } else if (++halfOpenSucceeded == halfOpenCalls) {
+                transitionTo(State.CLOSED, nowNanos);
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            if (recordedCalls == window.length) {
+                if (window[windowIndex]) {
+                    failedCalls--;
+                }
+            } else {
+                recordedCalls++;
+            }
+            window[windowIndex] = failed;
+            if (failed) {
+                failedCalls++;
+            }
+            windowIndex = (windowIndex + 1) % window.length;
+            if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                transitionTo(State.OPEN, nowNanos);
+            }
+        }
+    }
+
+    synchronized void onCancel(long permitEpoch) {
+        if (permitEpoch == epoch && state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void transitionTo(State newState, long nowNanos) {
+        state = newState;
+        epoch++;
+        openedAt = nowNanos;
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        halfOpenPermits = halfOpenCalls;
+        halfOpenSucceeded = 0;
+    }
+}
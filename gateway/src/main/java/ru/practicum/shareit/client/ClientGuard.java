@@ -0,0 +1,92 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bulkhead and circuit breaker of one gateway client. A call over the client's concurrency limit
+ * or with the circuit open is answered with 503 at once instead of waiting for the server.
+ * Server errors (5xx), transport errors and calls slower than slow-call-duration count as failures.
+ */
+public class ClientGuard {
+    private final String client;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long slowCallNanos;
+    private final long retryAfterSeconds;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    ClientGuard(String client, ClientGuardProperties properties, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls(client));
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getFailureRateThreshold(),
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getWaitInOpenState().toNanos(),
+                properties.getHalfOpenCalls());
+        this.slowCallNanos = properties.getSlowCallDuration().toNanos();
+        this.retryAfterSeconds = Math.max(1, properties.getWaitInOpenState().toSeconds());
+        this.bulkheadRejections = rejections(meterRegistry, "bulkhead");
+        this.circuitRejections = rejections(meterRegistry, "circuit_open");
+        Gauge.builder("gateway.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("gateway.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<byte[]>> protect(Mono<ResponseEntity<byte[]>> call) {
+        return Mono.defer(() -> {
+            long epoch = circuitBreaker.tryAcquire(System.nanoTime());
+            if (epoch == CircuitBreaker.REJECTED) {
+                circuitRejections.increment();
+                return Mono.just(unavailable(retryAfterSeconds));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.onCancel(epoch);
+                bulkheadRejections.increment();
+                return Mono.just(unavailable(1));
+            }
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(response -> onResult(epoch, start, response == null
+                            || response.getStatusCode().is5xxServerError()))
+                    .doOnError(e -> onResult(epoch, start, true))
+                    .doOnCancel(() -> circuitBreaker.onCancel(epoch))
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private void onResult(long epoch, long start, boolean failed) {
+        long now = System.nanoTime();
+        circuitBreaker.onResult(epoch, failed || now - start > slowCallNanos, now);
+    }
+
+    private ResponseEntity<byte[]> unavailable(long retryAfter) {
+        String body = "{\"error\":\"Сервис " + client + " временно недоступен\"}";
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.client.rejected")
+                .tag("client", client)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bulkhead and circuit breaker settings of the gateway clients.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ClientGuardProperties {
+    /**
+     * Calls one client may have in flight, unless overridden in clients.
+     */
+    private int maxConcurrentCalls = 100;
+
+    private Map<String, Client> clients = new HashMap<>();
+
+    /**
+     * Share of failed or slow calls among the last sliding-window-size calls that opens the circuit.
+     */
+    private int failureRateThreshold = 50;
+
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    private int slidingWindowSize = 50;
+
+    /**
+     * Calls recorded before the failure rate is evaluated at all.
+     */
+    private int minimumCalls = 20;
+
+    private Duration waitInOpenState = Duration.ofSeconds(10);
+
+    /**
+     * Probe calls let through in the half-open state, all of them must succeed to close the circuit.
+     */
+    private int halfOpenCalls = 5;
+
+    public int getMaxConcurrentCalls(String client) {
+        Client settings = clients.get(client);
+        return settings != null && settings.getMaxConcurrentCalls() != null
+                ? settings.getMaxConcurrentCalls()
+                : maxConcurrentCalls;
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private Integer maxConcurrentCalls;
+    }
+}
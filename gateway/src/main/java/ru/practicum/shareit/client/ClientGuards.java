@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ClientGuardProperties.class)
+public class ClientGuards {
+    private final ClientGuardProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ClientGuard forClient(String client) {
+        return new ClientGuard(client, properties, meterRegistry);
+    }
+}
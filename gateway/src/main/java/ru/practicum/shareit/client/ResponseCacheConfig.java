@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+@EnableConfigurationProperties(ServerCacheProperties.class)
+public class ResponseCacheConfig {
+
+    /**
+     * Answers If-None-Match with 304 for any gateway response, whether it came from the cache or the server.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", havingValue = "true")
+    public WebClientCustomizer responseCacheCustomizer(ServerCacheProperties properties, MeterRegistry meterRegistry) {
+        Cache<String, ResponseCacheFilter.CachedResponse> cache = responseCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.responses");
+        ResponseCacheFilter filter = new ResponseCacheFilter(cache);
+        return builder -> builder.filter(filter);
+    }
+
+    static Cache<String, ResponseCacheFilter.CachedResponse> responseCache(ServerCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTtl())
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((String key, ResponseCacheFilter.CachedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serves repeated GET requests from a short-lived cache keyed by the server URL and X-Sharer-User-Id.
+ * Any other request to a resource drops the cached responses of that resource and of the resources
+ * whose responses embed it, see {@link #AFFECTED_RESOURCES}. A GET that was in flight while its resource
+ * changed is not cached, see {@link #generation(String)}.
+ */
+public class ResponseCacheFilter implements ExchangeFilterFunction {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final ExchangeStrategies CACHED_BODY_STRATEGIES = ExchangeStrategies.builder()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+            .build();
+    /**
+     * Resources whose cached responses a write to the key resource makes stale: items show their last and
+     * next bookings, requests list the items answering them, bookings embed their item. A write to any
+     * other resource, /users included (user names are embedded everywhere, a deleted user takes their
+     * items along), drops the whole cache.
+     */
+    private static final Map<String, Set<String>> AFFECTED_RESOURCES = Map.of(
+            "/bookings", Set.of("/bookings", "/items"),
+            "/items", Set.of("/items", "/requests", "/bookings"),
+            "/requests", Set.of("/requests")
+    );
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(Cache<String, CachedResponse> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String resource = resource(request.url());
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request)
+                    .doFinally(signal -> invalidate(resource));
+        }
+        String key = key(request);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached.toClientResponse());
+        }
+        long generation = generation(resource).get();
+        return next.exchange(request).flatMap(response -> {
+            if (response.rawStatusCode() != HttpStatus.OK.value()) {
+                return Mono.just(response);
+            }
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> {
+                        CachedResponse fetched = new CachedResponse(response.headers().asHttpHeaders(), body);
+                        cache.put(key, fetched);
+                        if (generation(resource).get() != generation) {
+                            cache.invalidate(key);
+                        }
+                        return fetched.toClientResponse();
+                    });
+        });
+    }
+
+    private void invalidate(String resource) {
+        Set<String> affected = AFFECTED_RESOURCES.get(resource);
+        if (affected == null) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            cache.invalidateAll();
+            return;
+        }
+        for (String affectedResource : affected) {
+            generation(affectedResource).incrementAndGet();
+        }
+        cache.asMap().keySet().removeIf(key -> affected.contains(resource(key)));
+    }
+
+    /**
+     * Incremented on every change of the resource, so that a response read before the change
+     * can be told apart from one read after it.
+     */
+    private AtomicLong generation(String resource) {
+        return generations.computeIfAbsent(resource, r -> new AtomicLong());
+    }
+
+    private static String resource(URI url) {
+        return resource(url.getRawPath());
+    }
+
+    private static String resource(String path) {
+        int end = 1;
+        while (end < path.length() && "/?#".indexOf(path.charAt(end)) < 0) {
+            end++;
+        }
+        return path.substring(0, end);
+    }
+
+    private static String key(ClientRequest request) {
+        URI url = request.url();
+        String userId = request.headers().getFirst(X_SHARER_USER_ID);
+        return url.getRawPath() + (url.getRawQuery() != null ? "?" + url.getRawQuery() : "") + "#" + userId;
+    }
+
+    static final class CachedResponse {
+        /**
+         * Rough per-entry cost of the key, the headers and the object headers on top of the body.
+         */
+        private static final int ENTRY_OVERHEAD = 512;
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        CachedResponse(HttpHeaders headers, byte[] body) {
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD + body.length;
+        }
+
+        private ClientResponse toClientResponse() {
+            return ClientResponse.create(HttpStatus.OK, CACHED_BODY_STRATEGIES)
+                    .headers(responseHeaders -> responseHeaders.addAll(headers))
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+}
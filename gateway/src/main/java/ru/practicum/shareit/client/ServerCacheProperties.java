@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Gateway cache of successful GET responses from the server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ServerCacheProperties {
+    private boolean enabled = false;
+
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * Bound on the cached bodies as a whole, entries are weighed by their body size.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeouts of the HTTP client shared by all gateway clients.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class ServerHttpProperties {
+    /**
+     * Connections to the server. Every client talks to the same host, so this is both the total
+     * and the per-route limit.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Requests allowed to wait for a free connection before new ones are rejected.
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    private boolean keepAlive = true;
+
+    /**
+     * Idle connections are closed after this time, connections of any age after max-life-time.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration maxLifeTime = Duration.ofMinutes(10);
+
+    /**
+     * How often idle and expired connections are evicted in the background.
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+}
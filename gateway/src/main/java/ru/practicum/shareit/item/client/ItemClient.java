@@ -2,16 +2,22 @@ package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientGuards;
 import ru.practicum.shareit.item.controller.dto.CommentCreateRequest;
 import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
 import ru.practicum.shareit.item.controller.dto.ItemUpdateRequest;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -19,45 +25,72 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                guards.forClient("items")
         );
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> getItem(Long userId, Long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAll(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> getAll(Long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> search(String text, Long userId, Integer from, Integer size, String cursor,
+                                               LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
+        ));
+        String path = "/search?text={text}&from={from}&size={size}";
+        if (start != null) {
+            parameters.put("start", start);
+            path += "&start={start}";
+        }
+        if (end != null) {
+            parameters.put("end", end);
+            path += "&end={end}";
+        }
+        return get(withCursor(path, parameters, cursor), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<byte[]>> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(ItemCreateRequest itemDto, Long userId) {
+    public Mono<ResponseEntity<byte[]>> create(ItemCreateRequest itemDto, Long userId) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(ItemUpdateRequest itemDto, Long userId, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> createAll(List<ItemCreateRequest> itemDtos, Long userId) {
+        return post("/bulk", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<byte[]>> importItems(Long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<byte[]>> update(ItemUpdateRequest itemDto, Long userId, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> createComment(Long itemId, CommentCreateRequest commentCreateRequest, Long userId) {
+    public Mono<ResponseEntity<byte[]>> createComment(Long itemId, CommentCreateRequest commentCreateRequest, Long userId) {
         return post("/" + itemId + "/comment", userId, commentCreateRequest);
     }
 }
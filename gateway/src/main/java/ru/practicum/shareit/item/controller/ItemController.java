@@ -2,10 +2,14 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.controller.dto.CommentCreateRequest;
 import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
@@ -14,6 +18,10 @@ import ru.practicum.shareit.item.controller.dto.ItemUpdateRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -22,51 +30,86 @@ import javax.validation.constraints.PositiveOrZero;
 @Validated
 public class ItemController {
     private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final int MAX_BULK_SIZE = 500;
     private final ItemClient itemClient;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@PathVariable Long itemId,
-                                          @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> getById(@PathVariable Long itemId,
+                                                @RequestHeader(X_SHARER_USER_ID) Long userId) {
         log.info("Get booking {}, userId={}", itemId, userId);
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> getAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) String cursor) {
         log.info("Get all item with, userId={}, from={}, size={}", userId, from, size);
-        return itemClient.getAll(userId, from, size);
+        return itemClient.getAll(userId, from, size, cursor);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text,
-                                         @RequestHeader(X_SHARER_USER_ID) Long userId,
-                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        log.info("Search item with, text={}, userId={}, from={}, size={}", text, userId, from, size);
-        return itemClient.search(text, userId, from, size);
+    public Mono<ResponseEntity<byte[]>> search(@RequestParam String text,
+                                               @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                               @RequestParam(required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Search item with, text={}, userId={}, from={}, size={}, start={}, end={}",
+                text, userId, from, size, start, end);
+        return itemClient.search(text, userId, from, size, cursor, start, end);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> getAvailability(@PathVariable Long itemId,
+                                                        @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        log.info("Get availability of item {}, from={}, to={}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody ItemCreateRequest itemDto,
-                                         @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> create(@Valid @RequestBody ItemCreateRequest itemDto,
+                                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
         log.info("Creating item {}, userId={}", itemDto, userId);
         return itemClient.create(itemDto, userId);
     }
 
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<byte[]>> createAll(@RequestBody @Size(max = MAX_BULK_SIZE)
+                                                  List<@Valid ItemCreateRequest> itemDtos,
+                                                  @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        log.info("Creating {} items, userId={}", itemDtos.size(), userId);
+        return itemClient.createAll(itemDtos, userId);
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public Mono<ResponseEntity<byte[]>> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                    InputStream body) {
+        log.info("Importing items, contentType={}, userId={}", contentType, userId);
+        return itemClient.importItems(userId, contentType, body);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable Long itemId,
-                               @Valid @RequestBody ItemUpdateRequest itemDto,
-                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> update(@PathVariable Long itemId,
+                                     @Valid @RequestBody ItemUpdateRequest itemDto,
+                                     @RequestHeader(X_SHARER_USER_ID) Long userId) {
         log.info("Updating item {}, userId={}", itemDto, userId);
         return itemClient.update(itemDto, userId, itemId);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable Long itemId,
-                                                @Valid @RequestBody CommentCreateRequest commentCreateRequest,
-                                                @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<byte[]>> createComment(@PathVariable Long itemId,
+                                                      @Valid @RequestBody CommentCreateRequest commentCreateRequest,
+                                                      @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.createComment(itemId, commentCreateRequest, userId);
     }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-gateway.limits", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestLimitProperties.class)
+public class RequestLimitConfig {
+
+    @Bean
+    public RequestLimitFilter requestLimitFilter(RequestLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RequestLimitFilter(properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestLimitFilter> requestLimitFilterRegistration(RequestLimitFilter filter) {
+        FilterRegistrationBean<RequestLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rejects a user's requests above the rate of their endpoint group with 429, and sheds any request
+ * beyond the concurrency limit with 503 before it reaches the server's connection pool.
+ * Users are told apart by X-Sharer-User-Id, requests without a numeric one by the remote address.
+ */
+@Slf4j
+public class RequestLimitFilter extends OncePerRequestFilter {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String DEFAULT_GROUP = "default";
+
+    private final List<Map.Entry<String, RequestLimitProperties.Group>> groups;
+    private final RequestLimitProperties.Rate defaultRate;
+    private final Semaphore concurrency;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final Counter shed;
+
+    public RequestLimitFilter(RequestLimitProperties properties, MeterRegistry meterRegistry) {
+        this.groups = properties.getGroups().entrySet().stream()
+                .sorted(Comparator.comparing(
+                        (Map.Entry<String, RequestLimitProperties.Group> group) -> group.getValue().getPathPrefix().length())
+                        .reversed())
+                .collect(Collectors.toList());
+        this.defaultRate = properties.getDefaultRate();
+        this.concurrency = new Semaphore(properties.getMaxConcurrentRequests());
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(properties.getMaxBuckets())
+                .build();
+        this.meterRegistry = meterRegistry;
+        this.shed = rejected("concurrency", "all");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = tryConsume(request, request.getRequestURI());
+        if (wait > 0) {
+            long second = TimeUnit.SECONDS.toNanos(1);
+            response.setHeader("Retry-After", String.valueOf((wait + second - 1) / second));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Слишком много запросов");
+            return;
+        }
+        if (!concurrency.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Сервис перегружен, повторите запрос позже");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener());
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                concurrency.release();
+            }
+        }
+    }
+
+    /**
+     * Charges one request to path from the client of request against the rate of the path's group.
+     * Returns 0 if the request is allowed, otherwise how many nanoseconds to wait before retrying.
+     */
+    public long tryConsume(HttpServletRequest request, String path) {
+        Map.Entry<String, RequestLimitProperties.Group> group = groups.stream()
+                .filter(entry -> path.startsWith(entry.getValue().getPathPrefix()))
+                .findFirst()
+                .orElse(null);
+        String groupName = group != null ? group.getKey() : DEFAULT_GROUP;
+        RequestLimitProperties.Rate rate = group != null ? group.getValue() : defaultRate;
+        String user = userId(request);
+        String client = user != null ? user : request.getRemoteAddr();
+
+        long now = System.nanoTime();
+        long wait = buckets.get(groupName + "#" + client,
+                key -> new TokenBucket(rate.getCapacity(), rate.getRefillPerSecond(), now)).tryConsume(now);
+        if (wait > 0) {
+            rejected("rate", groupName).increment();
+        }
+        return wait;
+    }
+
+    /**
+     * The user id in canonical form, or null if the header is missing or not a number: such requests are
+     * limited by the remote address, and the controllers reject them anyway.
+     */
+    private static String userId(HttpServletRequest request) {
+        String header = request.getHeader(X_SHARER_USER_ID);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return String.valueOf(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Counter rejected(String reason, String group) {
+        return Counter.builder("gateway.requests.rejected")
+                .tag("reason", reason)
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    /**
+     * Controllers return a Mono, so the request is still in flight after the filter chain returns.
+     */
+    private class ReleasingListener implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrency.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.limit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.limits")
+public class RequestLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * Requests in flight through the gateway at once, further ones are shed with 503.
+     * Keep it close to shareit-server.http.max-connections plus its pending queue.
+     */
+    private int maxConcurrentRequests = 1000;
+
+    /**
+     * Token buckets kept at once, one per user and endpoint group. The least recently used ones are
+     * dropped beyond that, so a client inventing user ids cannot grow the gateway heap.
+     */
+    private long maxBuckets = 100_000;
+
+    /**
+     * Rate of every user on paths that do not belong to any group.
+     */
+    private Rate defaultRate = new Rate();
+
+    /**
+     * Endpoint groups by name, each with its own path prefix and rate.
+     */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Rate {
+        private int capacity = 100;
+
+        private double refillPerSecond = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class Group extends Rate {
+        private String pathPrefix;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.controller.dto.ItemRequestCreate;
 
@@ -23,31 +24,33 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                         @Valid @RequestBody ItemRequestCreate request) {
+    public Mono<ResponseEntity<byte[]>> create(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                               @Valid @RequestBody ItemRequestCreate request) {
         log.info("Creating request {}, userId={}", request, userId);
         return itemRequestClient.create(userId, request);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllOwnRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> findAllOwnRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                          @RequestParam(required = false) String cursor) {
         log.info("Get all request by owner with userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.findAllOwnRequest(userId, from, size);
+        return itemRequestClient.findAllOwnRequest(userId, from, size, cursor);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllOtherRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public Mono<ResponseEntity<byte[]>> findAllOtherRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false) String cursor) {
         log.info("Get all request by other with userId={}, from={}, size={}", userId, from, size);
-        return itemRequestClient.findAllOtherRequest(userId, from, size);
+        return itemRequestClient.findAllOtherRequest(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                           @PathVariable Long requestId) {
+    public Mono<ResponseEntity<byte[]>> findById(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                 @PathVariable Long requestId) {
         log.info("Get request by id with userId={}, requestId={}", userId, requestId);
         return itemRequestClient.findById(userId, requestId);
     }
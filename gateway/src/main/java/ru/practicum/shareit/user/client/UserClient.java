@@ -2,12 +2,13 @@ package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientGuards;
 import ru.practicum.shareit.user.controller.dto.UserCreateRequest;
 import ru.practicum.shareit.user.controller.dto.UserUpdateRequest;
 
@@ -16,33 +17,34 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientGuards guards) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                guards.forClient("users")
         );
     }
 
-    public ResponseEntity<Object> getById(Long userId) {
+    public Mono<ResponseEntity<byte[]>> getById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<byte[]>> getAll() {
         return get("/");
     }
 
 
-    public ResponseEntity<Object> create(UserCreateRequest request) {
+    public Mono<ResponseEntity<byte[]>> create(UserCreateRequest request) {
         return post("", request);
     }
 
-    public ResponseEntity<Object> update(Long userId, UserUpdateRequest userDto) {
+    public Mono<ResponseEntity<byte[]>> update(Long userId, UserUpdateRequest userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteById(Long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteById(Long userId) {
         return delete("/" + userId);
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.controller.dto.UserCreateRequest;
 import ru.practicum.shareit.user.controller.dto.UserUpdateRequest;
@@ -23,32 +24,32 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<byte[]>> getById(@PathVariable Long userId) {
         log.info("Get user by id userId={}", userId);
         return userClient.getById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<byte[]>> getAll() {
         log.info("Get all user");
         return userClient.getAll();
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserCreateRequest request) {
+    public Mono<ResponseEntity<byte[]>> create(@Valid @RequestBody UserCreateRequest request) {
         log.info("Creating user {}", request);
         return userClient.create(request);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable Long userId,
-                                         @Valid @RequestBody UserUpdateRequest userDto) {
+    public Mono<ResponseEntity<byte[]>> update(@PathVariable Long userId,
+                                               @Valid @RequestBody UserUpdateRequest userDto) {
         log.info("Updating user {}, userId={}", userDto, userId);
         return userClient.update(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable Long userId) {
+    public Mono<ResponseEntity<byte[]>> delete(@PathVariable Long userId) {
         log.info("Delete user userId={}", userId);
         return userClient.deleteById(userId);
     }
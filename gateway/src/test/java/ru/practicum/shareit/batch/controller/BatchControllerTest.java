@@ -0,0 +1,210 @@
+package ru.practicum.shareit.batch.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.limit.RequestLimitConfig;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.user.client.UserClient;
+import ru.practicum.shareit.user.controller.UserController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {
+        BatchController.class,
+        BookingController.class,
+        ItemController.class,
+        UserController.class,
+        ItemRequestController.class
+}, properties = {
+        "shareit-gateway.limits.groups.bookings.path-prefix=/bookings",
+        "shareit-gateway.limits.groups.bookings.capacity=3",
+        "shareit-gateway.limits.groups.bookings.refill-per-second=0.001"
+})
+@Import(RequestLimitConfig.class)
+class BatchControllerTest {
+    private static final Mono<ResponseEntity<byte[]>> OK =
+            Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body("[]".getBytes(StandardCharsets.UTF_8)));
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    BookingClient bookingClient;
+
+    @MockBean
+    ItemClient itemClient;
+
+    @MockBean
+    UserClient userClient;
+
+    @MockBean
+    ItemRequestClient itemRequestClient;
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    void willPassValidSubRequestsToControllers() throws Exception {
+        when(bookingClient.getBookings(anyLong(), any(), anyInt(), anyInt(), any())).thenReturn(OK);
+        when(itemClient.getItem(anyLong(), anyLong())).thenReturn(OK);
+        when(itemClient.search(any(), anyLong(), anyInt(), anyInt(), any(), any(), any())).thenReturn(OK);
+
+        batch(1L, "/bookings?state=FUTURE&from=5&size=5", "/items/3", "/items/search?text=дрель&start=2030-01-01T10:00:00")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body").isArray())
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(200));
+
+        verify(bookingClient).getBookings(1L, BookingState.FUTURE, 5, 5, null);
+        verify(itemClient).getItem(1L, 3L);
+        verify(itemClient).search("дрель", 1L, 0, 10, null, LocalDateTime.of(2030, 1, 1, 10, 0), null);
+    }
+
+    @Test
+    void willRejectParametersLikeSingleRequests() throws Exception {
+        batch(2L,
+                "/bookings?size=0",
+                "/bookings/owner?from=-1",
+                "/bookings?state=UNKNOWN",
+                "/items/1/availability?from=tomorrow&to=2030-01-01T00:00:00",
+                "/items/search",
+                "/items/abc")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].status").value(everyItem(is(400))))
+                .andExpect(jsonPath("$[0].body.error").isString());
+
+        verifyNoInteractions(bookingClient, itemClient);
+    }
+
+    @Test
+    void willRejectPathsOutsideTheApi() throws Exception {
+        batch(3L,
+                "/items/../actuator/prometheus",
+                "/items/%2e%2e/actuator/prometheus",
+                "/items%2F1",
+                "/items/./1",
+                "/actuator/prometheus")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(400))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(400))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[4].status").value(404));
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void willChargeEachSubRequestToItsGroup() throws Exception {
+        when(bookingClient.getBookings(anyLong(), any(), anyInt(), anyInt(), any())).thenReturn(OK);
+        when(bookingClient.getStats(anyLong())).thenReturn(OK);
+        when(itemClient.getItem(anyLong(), anyLong())).thenReturn(OK);
+
+        batch(4L, "/bookings", "/bookings/stats", "/bookings", "/bookings", "/items/1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[3].status").value(429))
+                .andExpect(jsonPath("$[4].status").value(200));
+    }
+
+    @Test
+    void willIsolateTransportErrorsOfSubRequests() throws Exception {
+        when(itemClient.getItem(anyLong(), anyLong())).thenReturn(OK);
+        when(userClient.getById(1L)).thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+        when(userClient.getById(2L)).thenReturn(Mono.error(ReadTimeoutException.INSTANCE));
+
+        batch(5L, "/items/1", "/users/1", "/users/2")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(502))
+                .andExpect(jsonPath("$[1].body.error").isString())
+                .andExpect(jsonPath("$[2].status").value(504));
+    }
+
+    @Test
+    void willDecodeQueryParameters() throws Exception {
+        when(itemClient.search(any(), anyLong(), anyInt(), anyInt(), any(), any(), any())).thenReturn(OK);
+
+        batch(6L, "/items/search?text=drill%20set%26more%3D1&size=5", "/items/search?text=%zz")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400));
+
+        verify(itemClient).search("drill set&more=1", 6L, 0, 5, null, null, null);
+    }
+
+    @Test
+    void willEmbedOnlyJsonBodiesAsRawValues() throws Exception {
+        when(userClient.getById(1L)).thenReturn(OK);
+        when(userClient.getById(2L)).thenReturn(Mono.just(ResponseEntity.status(500)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("oops\", \"injected\": \"1".getBytes(StandardCharsets.UTF_8))));
+
+        batch(7L, "/users/1", "/users/2")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].body").isArray())
+                .andExpect(jsonPath("$[1].status").value(500))
+                .andExpect(jsonPath("$[1].body").value("oops\", \"injected\": \"1"));
+    }
+
+    private ResultActions batch(long userId, String... paths) throws Exception {
+        String body = Arrays.stream(paths)
+                .map(path -> "{\"path\":\"" + path + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        MvcResult result = mvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class BaseClientTest {
+    private static final int MAX_IN_MEMORY_SIZE = 1024;
+    private static final ExchangeStrategies STRATEGIES = ExchangeStrategies.builder()
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+            .build();
+
+    private final List<String> exchanges = new CopyOnWriteArrayList<>();
+    private ExchangeFunction server = request -> Mono.just(ClientResponse.create(HttpStatus.OK, STRATEGIES)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.CONNECTION, "keep-alive")
+            .body("{\"id\":1}")
+            .build());
+
+    @Test
+    void willPassBodyAndEndToEndHeaders() {
+        ResponseEntity<byte[]> response = client().get("/items/1", 1L).block();
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        Assertions.assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        Assertions.assertThat(response.getHeaders().containsKey(HttpHeaders.CONNECTION)).isFalse();
+    }
+
+    @Test
+    void willAnswerBadGatewayWhenBodyExceedsLimit() {
+        server = request -> Mono.just(ClientResponse.create(HttpStatus.OK, STRATEGIES)
+                .body("x".repeat(MAX_IN_MEMORY_SIZE + 1))
+                .build());
+
+        ResponseEntity<byte[]> response = client().get("/items", 1L).block();
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY);
+        Assertions.assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).contains("error");
+    }
+
+    @Test
+    void willShareOneExchangeBetweenConcurrentIdenticalGets() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        server = request -> pending.asMono();
+        BaseClient client = client();
+        List<ResponseEntity<byte[]>> responses = new CopyOnWriteArrayList<>();
+
+        client.get("/items/1", 1L).subscribe(responses::add);
+        client.get("/items/1", 1L).subscribe(responses::add);
+        pending.tryEmitValue(ClientResponse.create(HttpStatus.OK, STRATEGIES).body("{\"id\":1}").build());
+
+        Assertions.assertThat(exchanges).hasSize(1);
+        Assertions.assertThat(responses).hasSize(2)
+                .allSatisfy(response -> Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK));
+    }
+
+    @Test
+    void willNotShareBetweenUsersOrParameters() {
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        server = request -> pending.asMono();
+        BaseClient client = client();
+
+        client.get("/items/1", 1L).subscribe();
+        client.get("/items/1", 2L).subscribe();
+        client.get("/items?from={from}", 1L, Map.of("from", 0)).subscribe();
+        client.get("/items?from={from}", 1L, Map.of("from", 10)).subscribe();
+        client.get("/items?from={from}", 1L, Map.of("from", 10)).subscribe();
+
+        Assertions.assertThat(exchanges)
+                .containsExactly("/items/1#1", "/items/1#2", "/items?from=0#1", "/items?from=10#1");
+    }
+
+    @Test
+    void willNotKeepFailureAfterCallCompletes() {
+        server = request -> Mono.error(new IllegalStateException("Connection refused"));
+        BaseClient client = client();
+
+        Assertions.assertThatThrownBy(() -> client.get("/items/1", 1L).block())
+                .hasMessageContaining("Connection refused");
+        server = request -> Mono.just(ClientResponse.create(HttpStatus.OK, STRATEGIES).body("{}").build());
+
+        Assertions.assertThat(client.get("/items/1", 1L).block().getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(exchanges).hasSize(2);
+    }
+
+    private BaseClient client() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    String query = request.url().getRawQuery();
+                    exchanges.add(request.url().getRawPath() + (query != null ? "?" + query : "") + "#"
+                            + request.headers().getFirst("X-Sharer-User-Id"));
+                    return server.exchange(request);
+                })
+                .exchangeStrategies(STRATEGIES)
+                .build();
+        ClientGuardProperties properties = new ClientGuardProperties();
+        return new BaseClient(webClient, new ClientGuard("items", properties, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class CircuitBreakerTest {
+    private static final long WAIT = TimeUnit.SECONDS.toNanos(10);
+
+    private final CircuitBreaker breaker = new CircuitBreaker(50, 10, 4, WAIT, 2);
+
+    @Test
+    void willStayClosedBeforeMinimumCalls() {
+        record(3, true, 0);
+
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        Assertions.assertThat(breaker.tryAcquire(0)).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    void willOpenAtFailureRateThreshold() {
+        record(1, false, 0);
+        record(2, true, 0);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        record(1, false, 0);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void willStayClosedBelowFailureRateThreshold() {
+        record(6, false, 0);
+        record(4, true, 0);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        record(1, true, 0);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void willRejectWhileOpen() {
+        record(4, true, 0);
+
+        Assertions.assertThat(breaker.tryAcquire(1)).isEqualTo(CircuitBreaker.REJECTED);
+        Assertions.assertThat(breaker.tryAcquire(WAIT - 1)).isEqualTo(CircuitBreaker.REJECTED);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void willCloseWhenAllProbesSucceed() {
+        record(4, true, 0);
+
+        long first = breaker.tryAcquire(WAIT);
+        long second = breaker.tryAcquire(WAIT);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        Assertions.assertThat(breaker.tryAcquire(WAIT)).isEqualTo(CircuitBreaker.REJECTED);
+
+        breaker.onResult(first, false, WAIT);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onResult(second, false, WAIT);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        Assertions.assertThat(breaker.tryAcquire(WAIT)).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    void willReopenWhenProbeFails() {
+        record(4, true, 0);
+
+        long probe = breaker.tryAcquire(WAIT);
+        breaker.onResult(probe, true, WAIT + 5);
+
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        Assertions.assertThat(breaker.tryAcquire(2 * WAIT)).isEqualTo(CircuitBreaker.REJECTED);
+        Assertions.assertThat(breaker.tryAcquire(2 * WAIT + 5)).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    void willReturnProbePermitOnCancel() {
+        record(4, true, 0);
+
+        long first = breaker.tryAcquire(WAIT);
+        breaker.tryAcquire(WAIT);
+        breaker.onCancel(first);
+
+        Assertions.assertThat(breaker.tryAcquire(WAIT)).isNotEqualTo(CircuitBreaker.REJECTED);
+        Assertions.assertThat(breaker.tryAcquire(WAIT)).isEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    void willIgnoreResultsOfEarlierEpoch() {
+        long stale = breaker.tryAcquire(0);
+        record(4, true, 0);
+
+        long probe = breaker.tryAcquire(WAIT);
+        breaker.onResult(stale, true, WAIT);
+        breaker.onCancel(stale);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onResult(probe, false, WAIT);
+        breaker.onResult(breaker.tryAcquire(WAIT), false, WAIT);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onResult(probe, true, WAIT);
+        record(3, true, WAIT);
+        Assertions.assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private void record(int calls, boolean failed, long now) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onResult(breaker.tryAcquire(now), failed, now);
+        }
+    }
+}
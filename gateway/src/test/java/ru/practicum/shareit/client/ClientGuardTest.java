@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+class ClientGuardTest {
+    private static final ResponseEntity<byte[]> OK = ResponseEntity.ok(new byte[0]);
+
+    @Test
+    void willRejectOverBulkheadAndReleaseOnComplete() {
+        ClientGuard guard = guard(1, 20);
+        Sinks.One<ResponseEntity<byte[]>> pending = Sinks.one();
+
+        Disposable first = guard.protect(pending.asMono()).subscribe();
+        Assertions.assertThat(guard.protect(Mono.just(OK)).block().getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        pending.tryEmitValue(OK);
+        Assertions.assertThat(first.isDisposed()).isTrue();
+        Assertions.assertThat(guard.protect(Mono.just(OK)).block().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void willReleaseBulkheadOnCancel() {
+        ClientGuard guard = guard(1, 20);
+
+        guard.protect(Mono.never()).subscribe().dispose();
+
+        Assertions.assertThat(guard.protect(Mono.just(OK)).block().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void willRejectWithoutCallingServerWhileOpen() {
+        ClientGuard guard = guard(10, 2);
+        ResponseEntity<byte[]> error = ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new byte[0]);
+        guard.protect(Mono.just(error)).block();
+        guard.protect(Mono.error(new IllegalStateException("connection refused")))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        ResponseEntity<byte[]> response = guard.protect(Mono.fromSupplier(() -> {
+            throw new AssertionError("Сервер не должен вызываться");
+        })).block();
+
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("10");
+    }
+
+    private static ClientGuard guard(int maxConcurrentCalls, int minimumCalls) {
+        ClientGuardProperties properties = new ClientGuardProperties();
+        properties.setMaxConcurrentCalls(maxConcurrentCalls);
+        properties.setMinimumCalls(minimumCalls);
+        properties.setWaitInOpenState(Duration.ofSeconds(10));
+        return new ClientGuard("users", properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+class ResponseCacheFilterTest {
+    private final List<String> serverCalls = new ArrayList<>();
+    private String body = "{}";
+    private final ExchangeFunction server = request -> {
+        serverCalls.add(request.method() + " " + request.url().getRawPath());
+        return Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build());
+    };
+    private ResponseCacheFilter filter = new ResponseCacheFilter(Caffeine.newBuilder().build());
+
+    @Test
+    void willServeRepeatedGetFromCache() {
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.GET, "/items/1?from=0");
+
+        Assertions.assertThat(serverCalls).containsExactly("GET /items/1", "GET /items/1");
+    }
+
+    @Test
+    void willDropItemsWhenBookingChanges() {
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.PATCH, "/bookings/5?approved=true");
+        send(HttpMethod.GET, "/items/1");
+
+        Assertions.assertThat(serverCalls).containsExactly("GET /items/1", "PATCH /bookings/5", "GET /items/1");
+    }
+
+    @Test
+    void willDropRequestsWhenItemIsCreated() {
+        send(HttpMethod.GET, "/requests/2");
+        send(HttpMethod.GET, "/users/1");
+        send(HttpMethod.POST, "/items");
+        send(HttpMethod.GET, "/requests/2");
+        send(HttpMethod.GET, "/users/1");
+
+        Assertions.assertThat(serverCalls)
+                .containsExactly("GET /requests/2", "GET /users/1", "POST /items", "GET /requests/2");
+    }
+
+    @Test
+    void willDropEverythingWhenUserChanges() {
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.GET, "/bookings/owner");
+        send(HttpMethod.DELETE, "/users/1");
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.GET, "/bookings/owner");
+
+        Assertions.assertThat(serverCalls).filteredOn(call -> call.startsWith("GET")).hasSize(4);
+    }
+
+    @Test
+    void willKeepUnrelatedResources() {
+        send(HttpMethod.GET, "/items/1");
+        send(HttpMethod.POST, "/requests");
+        send(HttpMethod.GET, "/items/1");
+
+        Assertions.assertThat(serverCalls).containsExactly("GET /items/1", "POST /requests");
+    }
+
+    @Test
+    void willBoundCachedBodiesByMemory() {
+        ServerCacheProperties properties = new ServerCacheProperties();
+        properties.setMaxMemory(DataSize.ofKilobytes(64));
+        Cache<String, ResponseCacheFilter.CachedResponse> cache = ResponseCacheConfig.responseCache(properties);
+        filter = new ResponseCacheFilter(cache);
+        body = "\"" + "x".repeat(10_000) + "\"";
+
+        for (int i = 0; i < 20; i++) {
+            send(HttpMethod.GET, "/items/" + i);
+        }
+        cache.cleanUp();
+
+        long weight = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        Assertions.assertThat(weight).isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes());
+        Assertions.assertThat(cache.estimatedSize()).isBetween(1L, 6L);
+    }
+
+    private void send(HttpMethod method, String path) {
+        ClientRequest request = ClientRequest.create(method, URI.create("http://localhost:9090" + path))
+                .header("X-Sharer-User-Id", "1")
+                .build();
+        filter.filter(request, server).flatMap(response -> response.bodyToMono(String.class)).block();
+    }
+}
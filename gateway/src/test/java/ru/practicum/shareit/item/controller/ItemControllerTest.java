@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.client.ItemClient;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+class ItemControllerTest {
+    private static final String ITEM = "{\"name\":\"Book\",\"description\":\"Read book\",\"available\":true}";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    ItemClient itemClient;
+
+    @Test
+    void canCreateItemsInBulk() throws Exception {
+        when(itemClient.createAll(any(), anyLong())).thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bulk(500)))
+                .andExpect(request().asyncStarted());
+
+        verify(itemClient).createAll(any(), anyLong());
+    }
+
+    @Test
+    void willRejectTooLargeBulk() throws Exception {
+        mvc.perform(post("/items/bulk")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bulk(501)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").isString());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    private static String bulk(int size) {
+        return "[" + String.join(",", Collections.nCopies(size, ITEM)) + "]";
+    }
+}
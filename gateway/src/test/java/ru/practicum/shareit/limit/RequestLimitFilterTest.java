@@ -0,0 +1,101 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestLimitFilterTest {
+    private final AtomicInteger passed = new AtomicInteger();
+
+    @Test
+    void willHoldPermitUntilAsyncResponseCompletes() throws Exception {
+        RequestLimitProperties properties = new RequestLimitProperties();
+        properties.setMaxConcurrentRequests(1);
+        RequestLimitFilter filter = new RequestLimitFilter(properties, new SimpleMeterRegistry());
+        FilterChain asyncChain = (request, response) -> {
+            passed.incrementAndGet();
+            request.startAsync();
+        };
+
+        MockHttpServletRequest first = request("1");
+        filter.doFilter(first, new MockHttpServletResponse(), asyncChain);
+        Assertions.assertThat(first.isAsyncStarted()).isTrue();
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request("2"), shed, asyncChain);
+        Assertions.assertThat(shed.getStatus()).isEqualTo(503);
+
+        first.getAsyncContext().complete();
+
+        MockHttpServletResponse afterComplete = new MockHttpServletResponse();
+        filter.doFilter(request("2"), afterComplete, (request, response) -> passed.incrementAndGet());
+        Assertions.assertThat(afterComplete.getStatus()).isEqualTo(200);
+        Assertions.assertThat(passed).hasValue(2);
+    }
+
+    @Test
+    void willReleasePermitOfSynchronousResponse() throws Exception {
+        RequestLimitProperties properties = new RequestLimitProperties();
+        properties.setMaxConcurrentRequests(1);
+        RequestLimitFilter filter = new RequestLimitFilter(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("1"), response, (request, resp) -> passed.incrementAndGet());
+            Assertions.assertThat(response.getStatus()).isEqualTo(200);
+        }
+        Assertions.assertThat(passed).hasValue(3);
+    }
+
+    @Test
+    void willRejectAboveRateWithRetryAfterRoundedUp() throws Exception {
+        RequestLimitProperties properties = new RequestLimitProperties();
+        properties.getDefaultRate().setCapacity(1);
+        properties.getDefaultRate().setRefillPerSecond(0.4);
+        RequestLimitFilter filter = new RequestLimitFilter(properties, new SimpleMeterRegistry());
+
+        filter.doFilter(request("1"), new MockHttpServletResponse(), (request, response) -> passed.incrementAndGet());
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("1"), rejected, (request, response) -> passed.incrementAndGet());
+        MockHttpServletResponse otherUser = new MockHttpServletResponse();
+        filter.doFilter(request("2"), otherUser, (request, response) -> passed.incrementAndGet());
+
+        Assertions.assertThat(rejected.getStatus()).isEqualTo(429);
+        Assertions.assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+        Assertions.assertThat(otherUser.getStatus()).isEqualTo(200);
+        Assertions.assertThat(passed).hasValue(2);
+    }
+
+    @Test
+    void willLimitInvalidUserIdsByRemoteAddress() throws Exception {
+        RequestLimitProperties properties = new RequestLimitProperties();
+        properties.getDefaultRate().setCapacity(1);
+        properties.getDefaultRate().setRefillPerSecond(0.001);
+        RequestLimitFilter filter = new RequestLimitFilter(properties, new SimpleMeterRegistry());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("abc"), first, (request, response) -> passed.incrementAndGet());
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("xyz"), second, (request, response) -> passed.incrementAndGet());
+        MockHttpServletResponse padded = new MockHttpServletResponse();
+        filter.doFilter(request("7"), new MockHttpServletResponse(), (request, response) -> passed.incrementAndGet());
+        filter.doFilter(request("007"), padded, (request, response) -> passed.incrementAndGet());
+
+        Assertions.assertThat(first.getStatus()).isEqualTo(200);
+        Assertions.assertThat(second.getStatus()).isEqualTo(429);
+        Assertions.assertThat(padded.getStatus()).isEqualTo(429);
+        Assertions.assertThat(passed).hasValue(2);
+    }
+
+    private static MockHttpServletRequest request(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.addHeader("X-Sharer-User-Id", userId);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.limit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketTest {
+    private static final long START = 1_000_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void canTakeBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, START);
+
+        Assertions.assertThat(bucket.tryConsume(START)).isZero();
+        Assertions.assertThat(bucket.tryConsume(START)).isZero();
+        Assertions.assertThat(bucket.tryConsume(START)).isZero();
+        Assertions.assertThat(bucket.tryConsume(START)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void willTellHowLongToWait() {
+        TokenBucket bucket = new TokenBucket(1, 2, START);
+
+        Assertions.assertThat(bucket.tryConsume(START)).isZero();
+        Assertions.assertThat(bucket.tryConsume(START + SECOND / 10)).isEqualTo(SECOND * 4 / 10);
+        Assertions.assertThat(bucket.tryConsume(START + SECOND / 2)).isZero();
+    }
+
+    @Test
+    void willRefillAtRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, START);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryConsume(START);
+        }
+
+        long later = START + 2 * SECOND;
+        Assertions.assertThat(bucket.tryConsume(later)).isZero();
+        Assertions.assertThat(bucket.tryConsume(later)).isZero();
+        Assertions.assertThat(bucket.tryConsume(later)).isPositive();
+
+        long idle = START + 100 * SECOND;
+        Assertions.assertThat(bucket.tryConsume(idle)).isZero();
+        Assertions.assertThat(bucket.tryConsume(idle)).isZero();
+        Assertions.assertThat(bucket.tryConsume(idle)).isZero();
+        Assertions.assertThat(bucket.tryConsume(idle)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void willNotChargeRejectedRequests() {
+        TokenBucket bucket = new TokenBucket(1, 1, START);
+        bucket.tryConsume(START);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(bucket.tryConsume(START + SECOND / 2)).isEqualTo(SECOND / 2);
+        }
+        Assertions.assertThat(bucket.tryConsume(START + SECOND)).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort key and the id of the last row of a page.
+ * Full-text search sorts by relevance, its cursor carries the search rank of the last row instead of a date.
+ * The next page is read with a "(sortKey, id) after cursor" predicate instead of an OFFSET,
+ * so its cost does not depend on how deep the client has scrolled.
+ */
+@Getter
+@EqualsAndHashCode
+public final class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime sortKey;
+    private final Long id;
+    private final Float rank;
+
+    private PageCursor(LocalDateTime sortKey, Long id, Float rank) {
+        this.sortKey = sortKey;
+        this.id = id;
+        this.rank = rank;
+    }
+
+    public static PageCursor of(LocalDateTime sortKey, Long id) {
+        return new PageCursor(sortKey, id, null);
+    }
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id, null);
+    }
+
+    public static PageCursor ofRank(float rank, Long id) {
+        return new PageCursor(null, id, rank);
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Некорректный cursor: " + token);
+            }
+            String sortKey = value.substring(0, separator);
+            int rankSeparator = value.indexOf(SEPARATOR, separator + 1);
+            Long id = Long.valueOf(value.substring(separator + 1, rankSeparator < 0 ? value.length() : rankSeparator));
+            Float rank = rankSeparator < 0 ? null : Float.valueOf(value.substring(rankSeparator + 1));
+            return new PageCursor(sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey), id, rank);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = (sortKey == null ? "" : sortKey.toString()) + SEPARATOR + id
+                + (rank == null ? "" : SEPARATOR + rank);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Wraps a page into a response carrying the cursor of its last row in {@link #NEXT_CURSOR_HEADER}.
+     * The header is omitted when the page is not full, i.e. there is nothing left to read.
+     */
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> page, int size, Function<T, PageCursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode())
+                .body(page);
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.controller.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.controller.dto.BookingResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 
 import java.util.List;
+import java.util.Map;
 
 
 @RestController
@@ -32,6 +36,16 @@ public class BookingController {
         return bookingMapper.toResponse(bookingService.update(bookingId, userId, approved));
     }
 
+    @GetMapping("/stats")
+    public Map<BookingState, Long> getStatsByBooker(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return bookingService.countByBooker(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public Map<BookingState, Long> getStatsByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return bookingService.countByOwner(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponse getBooking(@RequestHeader(X_SHARER_USER_ID) Long userId,
                                       @PathVariable Long bookingId) {
@@ -39,18 +53,28 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponse> getAllByBooker(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                @RequestParam(defaultValue = "ALL") BookingState state,
-                                                @RequestParam(defaultValue = "0", required = false) int from,
-                                                @RequestParam(defaultValue = "20", required = false) int size) {
-        return bookingMapper.toResponse(bookingService.findAllByBooker(userId, state, from, size));
+    public ResponseEntity<List<BookingResponse>> getAllByBooker(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                @RequestParam(defaultValue = "ALL") BookingState state,
+                                                                @RequestParam(defaultValue = "0", required = false) int from,
+                                                                @RequestParam(defaultValue = "20", required = false) int size,
+                                                                @RequestParam(required = false) String cursor) {
+        List<Booking> bookings = cursor == null
+                ? bookingService.findAllByBooker(userId, state, from, size)
+                : bookingService.findAllByBooker(userId, state, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(bookingMapper.toResponse(bookings), size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponse> getAllByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                               @RequestParam(defaultValue = "ALL") BookingState state,
-                                               @RequestParam(defaultValue = "0", required = false) int from,
-                                               @RequestParam(defaultValue = "20", required = false) int size) {
-        return bookingMapper.toResponse(bookingService.findAllByOwner(userId, state, from, size));
+    public ResponseEntity<List<BookingResponse>> getAllByOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                               @RequestParam(defaultValue = "ALL") BookingState state,
+                                                               @RequestParam(defaultValue = "0", required = false) int from,
+                                                               @RequestParam(defaultValue = "20", required = false) int size,
+                                                               @RequestParam(required = false) String cursor) {
+        List<Booking> bookings = cursor == null
+                ? bookingService.findAllByOwner(userId, state, from, size)
+                : bookingService.findAllByOwner(userId, state, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(bookingMapper.toResponse(bookings), size,
+                booking -> PageCursor.of(booking.getStart(), booking.getId()));
     }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookedInterval {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
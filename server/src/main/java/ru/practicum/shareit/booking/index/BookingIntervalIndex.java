@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory interval trees of WAITING and APPROVED bookings not ended yet, one per item.
+ * Loaded from the bookings table on startup, kept in sync by the booking service and pruned
+ * of ended bookings on the roll-forward schedule.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+    private static final Set<BookingStatus> INDEXED_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, IntervalTree> trees = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookingRepository.IndexedBooking> bookings =
+                         bookingRepository.streamAllByStatusInAndEndDateAfter(INDEXED_STATUSES, now)) {
+                bookings.forEach(booking ->
+                        put(booking.getItemId(), booking.getId(), booking.getStartDate(), booking.getEndDate()));
+            }
+        });
+        log.info("Индекс бронирований построен: {} вещей", trees.size());
+    }
+
+    public void index(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (INDEXED_STATUSES.contains(booking.getStatus()) && booking.getEndDate().isAfter(LocalDateTime.now())) {
+            put(itemId, booking.getId(), booking.getStartDate(), booking.getEndDate());
+            return;
+        }
+        trees.computeIfPresent(itemId, (id, tree) -> {
+            tree.remove(booking.getId(), booking.getStartDate());
+            return tree.isEmpty() ? null : tree;
+        });
+    }
+
+    /**
+     * Returns the booked intervals of the item intersecting [from, to), ordered by start.
+     */
+    public List<BookedInterval> findBusy(Long itemId, LocalDateTime from, LocalDateTime to) {
+        IntervalTree tree = trees.get(itemId);
+        return tree == null ? List.of() : tree.findOverlapping(from, to);
+    }
+
+    /**
+     * Drops ended bookings, and the trees of items left without bookings. Free slots are only
+     * reported from now on, so an interval ended before now can no longer show up in them.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking.roll-forward-delay:60000}")
+    public void removeEnded() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long itemId : trees.keySet()) {
+            trees.computeIfPresent(itemId, (id, tree) -> tree.removeEndedBy(now) ? null : tree);
+        }
+    }
+
+    /**
+     * Puts under the map lock of the item, so that a concurrent prune cannot drop the tree in between.
+     */
+    private void put(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        trees.compute(itemId, (id, tree) -> {
+            IntervalTree itemTree = tree != null ? tree : new IntervalTree();
+            itemTree.put(bookingId, start, end);
+            return itemTree;
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree over booking intervals [start, end) of one item, keyed by (start, booking id).
+ * Balanced as a treap; every node also keeps the latest and the earliest end of its subtree so that
+ * an overlap query skips subtrees ending before the window and pruning skips subtrees not ended yet.
+ */
+class IntervalTree {
+    private Node root;
+
+    synchronized void put(long id, LocalDateTime start, LocalDateTime end) {
+        Node[] parts = split(root, start, id);
+        Node[] right = split(parts[1], start, id + 1);
+        root = merge(merge(parts[0], new Node(id, start, end)), right[1]);
+    }
+
+    synchronized void remove(long id, LocalDateTime start) {
+        Node[] parts = split(root, start, id);
+        Node[] right = split(parts[1], start, id + 1);
+        root = merge(parts[0], right[1]);
+    }
+
+    /**
+     * Removes the intervals ending at or before the given time and tells whether the tree is empty now.
+     */
+    synchronized boolean removeEndedBy(LocalDateTime time) {
+        List<Node> ended = new ArrayList<>();
+        collectEnded(root, time, ended);
+        for (Node node : ended) {
+            remove(node.id, node.start);
+        }
+        return root == null;
+    }
+
+    synchronized boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the intervals intersecting [from, to) ordered by start.
+     */
+    synchronized List<BookedInterval> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<BookedInterval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<BookedInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start.isBefore(to)) {
+            if (node.end.isAfter(from)) {
+                result.add(new BookedInterval(node.start, node.end));
+            }
+            collect(node.right, from, to, result);
+        }
+    }
+
+    private static void collectEnded(Node node, LocalDateTime time, List<Node> result) {
+        if (node == null || node.minEnd.isAfter(time)) {
+            return;
+        }
+        if (!node.end.isAfter(time)) {
+            result.add(node);
+        }
+        collectEnded(node.left, time, result);
+        collectEnded(node.right, time, result);
+    }
+
+    /**
+     * Splits into keys less than (start, id) and keys greater or equal.
+     */
+    private static Node[] split(Node node, LocalDateTime start, long id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int compare = node.start.compareTo(start);
+        if (compare < 0 || compare == 0 && node.id < id) {
+            Node[] parts = split(node.right, start, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, start, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private LocalDateTime minEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.minEnd = end;
+        }
+
+        private void update() {
+            maxEnd = end;
+            minEnd = end;
+            if (left != null) {
+                maxEnd = left.maxEnd.isAfter(maxEnd) ? left.maxEnd : maxEnd;
+                minEnd = left.minEnd.isBefore(minEnd) ? left.minEnd : minEnd;
+            }
+            if (right != null) {
+                maxEnd = right.maxEnd.isAfter(maxEnd) ? right.maxEnd : maxEnd;
+                minEnd = right.minEnd.isBefore(minEnd) ? right.minEnd : minEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.index;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Last and upcoming approved bookings of one item. Approved bookings of an item never overlap,
+ * so their start dates are unique and can key the map.
+ */
+class ItemBookingPointers {
+    private Long lastId;
+    private LocalDateTime lastStart;
+    private final NavigableMap<LocalDateTime, Long> upcoming = new TreeMap<>();
+
+    synchronized void put(Long bookingId, LocalDateTime start) {
+        upcoming.put(start, bookingId);
+    }
+
+    synchronized void remove(Long bookingId, LocalDateTime start) {
+        upcoming.remove(start, bookingId);
+        if (bookingId.equals(lastId)) {
+            lastId = null;
+            lastStart = null;
+        }
+    }
+
+    /**
+     * Moves bookings that have started by now from the upcoming ones to the last pointer.
+     */
+    synchronized void rollForward(LocalDateTime now) {
+        Map.Entry<LocalDateTime, Long> started = upcoming.lowerEntry(now);
+        if (started == null) {
+            return;
+        }
+        if (lastStart == null || started.getKey().isAfter(lastStart)) {
+            lastId = started.getValue();
+            lastStart = started.getKey();
+        }
+        upcoming.headMap(now, false).clear();
+    }
+
+    synchronized Long getLastId(LocalDateTime now) {
+        rollForward(now);
+        return lastId;
+    }
+
+    synchronized Long getNextId(LocalDateTime now) {
+        rollForward(now);
+        Map.Entry<LocalDateTime, Long> next = upcoming.higherEntry(now);
+        return next == null ? null : next.getValue();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed last and next approved booking of every item, so that owner item views
+ * do not have to search the bookings table. Loaded on startup, updated by the booking service
+ * and rolled forward on a schedule as bookings start.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastNextBookingIndex implements SmartInitializingSingleton {
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<Long, ItemBookingPointers> pointers = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        pointers.clear();
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BookingRepository.IndexedBooking> bookings =
+                         bookingRepository.streamAllByStatusIn(EnumSet.of(BookingStatus.APPROVED))) {
+                bookings.forEach(booking -> {
+                    ItemBookingPointers itemPointers = itemPointers(booking.getItemId());
+                    itemPointers.put(booking.getId(), booking.getStartDate());
+                    itemPointers.rollForward(now);
+                });
+            }
+        });
+        log.info("Указатели последнего и следующего бронирования построены: {} вещей", pointers.size());
+    }
+
+    public void index(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            itemPointers(itemId).put(booking.getId(), booking.getStartDate());
+            return;
+        }
+        ItemBookingPointers itemPointers = pointers.get(itemId);
+        if (itemPointers != null) {
+            itemPointers.remove(booking.getId(), booking.getStartDate());
+        }
+    }
+
+    /**
+     * Returns the ids of the last and the next approved bookings of the given items as of now.
+     */
+    public List<Long> findLastAndNextIds(Collection<Long> itemIds, LocalDateTime now) {
+        List<Long> bookingIds = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemBookingPointers itemPointers = pointers.get(itemId);
+            if (itemPointers == null) {
+                continue;
+            }
+            Long lastId = itemPointers.getLastId(now);
+            if (lastId != null) {
+                bookingIds.add(lastId);
+            }
+            Long nextId = itemPointers.getNextId(now);
+            if (nextId != null) {
+                bookingIds.add(nextId);
+            }
+        }
+        return bookingIds;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.roll-forward-delay:60000}")
+    public void rollForward() {
+        LocalDateTime now = LocalDateTime.now();
+        pointers.values().forEach(itemPointers -> itemPointers.rollForward(now));
+    }
+
+    private ItemBookingPointers itemPointers(Long itemId) {
+        return pointers.computeIfAbsent(itemId, id -> new ItemBookingPointers());
+    }
+}
@@ -2,29 +2,154 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.entity.BookingEntity;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<BookingEntity, Long> {
+
+    interface IndexedBooking {
+        Long getId();
+
+        Long getItemId();
+
+        LocalDateTime getStartDate();
+
+        LocalDateTime getEndDate();
+    }
+
+    interface BookingCounts {
+        Long getTotal();
+
+        Long getCurrent();
+
+        Long getPast();
+
+        Long getFuture();
+
+        Long getWaiting();
+
+        Long getRejected();
+    }
+
     List<BookingEntity> findAllByBookerId(Long userId, Pageable pageable);
 
+    List<BookingEntity> findAllByBookerIdAndStartDateBeforeAndEndDateAfter(Long userId,
+                                                                           LocalDateTime start,
+                                                                           LocalDateTime end,
+                                                                           Pageable pageable);
+
+    List<BookingEntity> findAllByBookerIdAndEndDateBefore(Long userId, LocalDateTime end, Pageable pageable);
+
+    List<BookingEntity> findAllByBookerIdAndStartDateAfter(Long userId, LocalDateTime start, Pageable pageable);
+
+    List<BookingEntity> findAllByBookerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+
     List<BookingEntity> findAllByBookerIdAndItemId(Long userId, Long itemId);
 
     List<BookingEntity> findAllByItemOwnerId(Long userId, Pageable pageable);
 
-    Optional<BookingEntity> findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(
-            Long id,
-            BookingStatus status,
-            LocalDateTime start
-    );
-
-    Optional<BookingEntity> findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDate(
-            Long id,
-            BookingStatus status,
-            LocalDateTime start
-    );
+    List<BookingEntity> findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfter(Long userId,
+                                                                              LocalDateTime start,
+                                                                              LocalDateTime end,
+                                                                              Pageable pageable);
+
+    List<BookingEntity> findAllByItemOwnerIdAndEndDateBefore(Long userId, LocalDateTime end, Pageable pageable);
+
+    List<BookingEntity> findAllByItemOwnerIdAndStartDateAfter(Long userId, LocalDateTime start, Pageable pageable);
+
+    List<BookingEntity> findAllByItemOwnerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
+
+    @Query("select b from BookingEntity b " +
+            "where b.booker.id = :userId " +
+            "and b.status in :statuses " +
+            "and b.startDate > :startAfter " +
+            "and b.endDate > :endAfter and b.endDate < :endBefore " +
+            "and (b.startDate < :cursorStart or (b.startDate = :cursorStart and b.id < :cursorId))")
+    List<BookingEntity> findAllByBookerIdAfterCursor(@Param("userId") Long userId,
+                                                     @Param("statuses") Collection<BookingStatus> statuses,
+                                                     @Param("startAfter") LocalDateTime startAfter,
+                                                     @Param("endAfter") LocalDateTime endAfter,
+                                                     @Param("endBefore") LocalDateTime endBefore,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId,
+                                                     Pageable pageable);
+
+    @Query("select b from BookingEntity b " +
+            "where b.item.owner.id = :userId " +
+            "and b.status in :statuses " +
+            "and b.startDate > :startAfter " +
+            "and b.endDate > :endAfter and b.endDate < :endBefore " +
+            "and (b.startDate < :cursorStart or (b.startDate = :cursorStart and b.id < :cursorId))")
+    List<BookingEntity> findAllByItemOwnerIdAfterCursor(@Param("userId") Long userId,
+                                                        @Param("statuses") Collection<BookingStatus> statuses,
+                                                        @Param("startAfter") LocalDateTime startAfter,
+                                                        @Param("endAfter") LocalDateTime endAfter,
+                                                        @Param("endBefore") LocalDateTime endBefore,
+                                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                                        @Param("cursorId") Long cursorId,
+                                                        Pageable pageable);
+
+    @Query("select count(b) as total, " +
+            "coalesce(sum(case when b.startDate < :now and b.endDate > :now then 1 else 0 end), 0) as current, " +
+            "coalesce(sum(case when b.endDate < :now then 1 else 0 end), 0) as past, " +
+            "coalesce(sum(case when b.startDate > :now then 1 else 0 end), 0) as future, " +
+            "coalesce(sum(case when b.status = :waiting then 1 else 0 end), 0) as waiting, " +
+            "coalesce(sum(case when b.status = :rejected then 1 else 0 end), 0) as rejected " +
+            "from BookingEntity b where b.booker.id = :userId")
+    BookingCounts countByBookerId(@Param("userId") Long userId,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("waiting") BookingStatus waiting,
+                                  @Param("rejected") BookingStatus rejected);
+
+    @Query("select count(b) as total, " +
+            "coalesce(sum(case when b.startDate < :now and b.endDate > :now then 1 else 0 end), 0) as current, " +
+            "coalesce(sum(case when b.endDate < :now then 1 else 0 end), 0) as past, " +
+            "coalesce(sum(case when b.startDate > :now then 1 else 0 end), 0) as future, " +
+            "coalesce(sum(case when b.status = :waiting then 1 else 0 end), 0) as waiting, " +
+            "coalesce(sum(case when b.status = :rejected then 1 else 0 end), 0) as rejected " +
+            "from BookingEntity b where b.item.owner.id = :userId")
+    BookingCounts countByItemOwnerId(@Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("waiting") BookingStatus waiting,
+                                     @Param("rejected") BookingStatus rejected);
+
+    @Query("select b from BookingEntity b " +
+            "join fetch b.booker " +
+            "join fetch b.item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.requestor " +
+            "where b.id in :ids")
+    List<BookingEntity> findAllWithItemAndBookerByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select count(b) > 0 from BookingEntity b " +
+            "where b.item.id = :itemId " +
+            "and b.status = :status " +
+            "and b.startDate < :end and b.endDate > :start " +
+            "and (:bookingId is null or b.id <> :bookingId)")
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("status") BookingStatus status,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("bookingId") Long bookingId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id as id, b.item.id as itemId, b.startDate as startDate, b.endDate as endDate " +
+            "from BookingEntity b where b.status in :statuses")
+    Stream<IndexedBooking> streamAllByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.id as id, b.item.id as itemId, b.startDate as startDate, b.endDate as endDate " +
+            "from BookingEntity b where b.status in :statuses and b.endDate > :now")
+    Stream<IndexedBooking> streamAllByStatusInAndEndDateAfter(@Param("statuses") Collection<BookingStatus> statuses,
+                                                              @Param("now") LocalDateTime now);
 }
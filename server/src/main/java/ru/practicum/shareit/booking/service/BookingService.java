@@ -1,10 +1,12 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.controller.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
     Booking create(BookingCreateRequest bookingDto, Long userId);
@@ -16,4 +18,12 @@ public interface BookingService {
     List<Booking> findAllByBooker(Long userId, BookingState state, int from, int size);
 
     List<Booking> findAllByOwner(Long userId, BookingState state, int from, int size);
+
+    List<Booking> findAllByBooker(Long userId, BookingState state, PageCursor cursor, int size);
+
+    List<Booking> findAllByOwner(Long userId, BookingState state, PageCursor cursor, int size);
+
+    Map<BookingState, Long> countByBooker(Long userId);
+
+    Map<BookingState, Long> countByOwner(Long userId);
 }
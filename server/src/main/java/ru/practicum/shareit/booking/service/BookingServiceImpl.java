@@ -1,17 +1,25 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.OffsetPageable;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.controller.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.LastNextBookingIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -19,20 +27,30 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.BookingStatus.*;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Sort BOOKING_SORT = Sort.by(Sort.Direction.DESC, "startDate", "id");
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
 
     private final UserService userService;
     private final ItemService itemService;
     private final BookingMapper bookingMapper;
     private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final LastNextBookingIndex lastNextBookingIndex;
 
     @Override
     public Booking create(BookingCreateRequest bookingDto, Long userId) {
@@ -51,6 +69,7 @@ public class BookingServiceImpl implements BookingService {
         if (item.getOwner().getId().equals(userId)) {
             throw new DataNotFoundException("Нельзя забронировать свой предмет");
         }
+        checkOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd(), null);
         Booking booking = new Booking();
         booking.setStartDate(bookingDto.getStart());
         booking.setEndDate(bookingDto.getEnd());
@@ -59,7 +78,9 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(WAITING);
         BookingEntity bookingEntity = bookingMapper.toEntity(booking);
         bookingRepository.save(bookingEntity);
-        return bookingMapper.toBooking(bookingEntity);
+        Booking created = bookingMapper.toBooking(bookingEntity);
+        bookingIntervalIndex.index(created);
+        return created;
     }
 
     @Override
@@ -83,30 +104,167 @@ public class BookingServiceImpl implements BookingService {
         if (booking.getStatus() != WAITING) {
             throw new ValidationException("Менять статус бронирования запрещено");
         }
+        if (approved) {
+            checkOverlap(booking.getItem().getId(), booking.getStartDate(), booking.getEndDate(), bookingId);
+        }
         booking.setStatus(approved ? APPROVED : REJECTED);
         BookingEntity bookingEntity = bookingMapper.toEntity(booking);
-        bookingRepository.save(bookingEntity);
-        return bookingMapper.toBooking(bookingEntity);
+        try {
+            bookingRepository.save(bookingEntity);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            throw new DuplicateException(String.format("Вещь с id %d уже забронирована на эти даты",
+                    booking.getItem().getId()));
+        }
+        Booking updated = bookingMapper.toBooking(bookingEntity);
+        bookingIntervalIndex.index(updated);
+        lastNextBookingIndex.index(updated);
+        return updated;
     }
 
     @Override
     public List<Booking> findAllByBooker(Long userId, BookingState state, int from, int size) {
         userService.findById(userId);
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.DESC, "startDate"));
-        List<Booking> bookingList = bookingMapper.toBooking(bookingRepository.findAllByBookerId(userId, pageable));
-        return bookingList.stream()
-                .filter(booking -> checkBookingState(booking, state))
-                .collect(Collectors.toList());
+        Pageable pageable = new OffsetPageable(from, size, BOOKING_SORT);
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingEntity> bookingEntities;
+        switch (state) {
+            case CURRENT:
+                bookingEntities = bookingRepository
+                        .findAllByBookerIdAndStartDateBeforeAndEndDateAfter(userId, now, now, pageable);
+                break;
+            case PAST:
+                bookingEntities = bookingRepository.findAllByBookerIdAndEndDateBefore(userId, now, pageable);
+                break;
+            case FUTURE:
+                bookingEntities = bookingRepository.findAllByBookerIdAndStartDateAfter(userId, now, pageable);
+                break;
+            case WAITING:
+                bookingEntities = bookingRepository.findAllByBookerIdAndStatus(userId, WAITING, pageable);
+                break;
+            case REJECTED:
+                bookingEntities = bookingRepository.findAllByBookerIdAndStatus(userId, REJECTED, pageable);
+                break;
+            default:
+                bookingEntities = bookingRepository.findAllByBookerId(userId, pageable);
+        }
+        return bookingMapper.toBooking(bookingEntities);
     }
 
     @Override
     public List<Booking> findAllByOwner(Long userId, BookingState state, int from, int size) {
         userService.findById(userId);
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.DESC, "startDate"));
-        List<Booking> bookingList = bookingMapper.toBooking(bookingRepository.findAllByItemOwnerId(userId, pageable));
-        return bookingList.stream()
-                .filter(booking -> checkBookingState(booking, state))
-                .collect(Collectors.toList());
+        Pageable pageable = new OffsetPageable(from, size, BOOKING_SORT);
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingEntity> bookingEntities;
+        switch (state) {
+            case CURRENT:
+                bookingEntities = bookingRepository
+                        .findAllByItemOwnerIdAndStartDateBeforeAndEndDateAfter(userId, now, now, pageable);
+                break;
+            case PAST:
+                bookingEntities = bookingRepository.findAllByItemOwnerIdAndEndDateBefore(userId, now, pageable);
+                break;
+            case FUTURE:
+                bookingEntities = bookingRepository.findAllByItemOwnerIdAndStartDateAfter(userId, now, pageable);
+                break;
+            case WAITING:
+                bookingEntities = bookingRepository.findAllByItemOwnerIdAndStatus(userId, WAITING, pageable);
+                break;
+            case REJECTED:
+                bookingEntities = bookingRepository.findAllByItemOwnerIdAndStatus(userId, REJECTED, pageable);
+                break;
+            default:
+                bookingEntities = bookingRepository.findAllByItemOwnerId(userId, pageable);
+        }
+        return bookingMapper.toBooking(bookingEntities);
+    }
+
+    @Override
+    public List<Booking> findAllByBooker(Long userId, BookingState state, PageCursor cursor, int size) {
+        userService.findById(userId);
+        StateFilter filter = StateFilter.of(state, LocalDateTime.now());
+        return bookingMapper.toBooking(bookingRepository.findAllByBookerIdAfterCursor(
+                userId,
+                filter.statuses,
+                filter.startAfter,
+                filter.endAfter,
+                filter.endBefore,
+                getStartDate(cursor),
+                cursor.getId(),
+                PageRequest.of(0, size, BOOKING_SORT)
+        ));
+    }
+
+    @Override
+    public List<Booking> findAllByOwner(Long userId, BookingState state, PageCursor cursor, int size) {
+        userService.findById(userId);
+        StateFilter filter = StateFilter.of(state, LocalDateTime.now());
+        return bookingMapper.toBooking(bookingRepository.findAllByItemOwnerIdAfterCursor(
+                userId,
+                filter.statuses,
+                filter.startAfter,
+                filter.endAfter,
+                filter.endBefore,
+                getStartDate(cursor),
+                cursor.getId(),
+                PageRequest.of(0, size, BOOKING_SORT)
+        ));
+    }
+
+    @Override
+    public Map<BookingState, Long> countByBooker(Long userId) {
+        userService.findById(userId);
+        return toStateCounts(bookingRepository.countByBookerId(userId, LocalDateTime.now(), WAITING, REJECTED));
+    }
+
+    @Override
+    public Map<BookingState, Long> countByOwner(Long userId) {
+        userService.findById(userId);
+        return toStateCounts(bookingRepository.countByItemOwnerId(userId, LocalDateTime.now(), WAITING, REJECTED));
+    }
+
+    /**
+     * Rejects an interval intersecting an approved booking of the same item. Two approvals racing past this
+     * check are caught by the bookings_no_overlap exclusion constraint, see the V3 PostgreSQL migration.
+     */
+    private void checkOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long bookingId) {
+        if (bookingRepository.existsOverlapping(itemId, APPROVED, start, end, bookingId)) {
+            throw new DuplicateException(String.format("Вещь с id %d уже забронирована на эти даты", itemId));
+        }
+    }
+
+    /**
+     * Hibernate does not extract constraint names for exclusion violations (SQLState 23P01),
+     * so the name is looked up in the driver messages of the cause chain.
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<BookingState, Long> toStateCounts(BookingRepository.BookingCounts counts) {
+        Map<BookingState, Long> stateCounts = new EnumMap<>(BookingState.class);
+        stateCounts.put(BookingState.ALL, counts.getTotal());
+        stateCounts.put(BookingState.CURRENT, counts.getCurrent());
+        stateCounts.put(BookingState.PAST, counts.getPast());
+        stateCounts.put(BookingState.FUTURE, counts.getFuture());
+        stateCounts.put(BookingState.WAITING, counts.getWaiting());
+        stateCounts.put(BookingState.REJECTED, counts.getRejected());
+        return stateCounts;
+    }
+
+    private LocalDateTime getStartDate(PageCursor cursor) {
+        if (cursor.getSortKey() == null) {
+            throw new ValidationException("cursor не содержит даты начала бронирования");
+        }
+        return cursor.getSortKey();
     }
 
     private boolean userIsOwner(Long userId, Booking booking) {
@@ -117,20 +275,42 @@ public class BookingServiceImpl implements BookingService {
         return booking.getBooker().getId().equals(userId);
     }
 
-    private boolean checkBookingState(Booking booking, BookingState state) {
-        switch (state) {
+    /**
+     * BookingState expressed as bounds of a single keyset query. The upper bound on the start date
+     * of CURRENT bookings is implied by the cursor itself, since the cursor was taken from a booking
+     * that had already started.
+     */
+    private static final class StateFilter {
+        private final Collection<BookingStatus> statuses;
+        private final LocalDateTime startAfter;
+        private final LocalDateTime endAfter;
+        private final LocalDateTime endBefore;
+
+        private StateFilter(Collection<BookingStatus> statuses,
+                            LocalDateTime startAfter,
+                            LocalDateTime endAfter,
+                            LocalDateTime endBefore) {
+            this.statuses = statuses;
+            this.startAfter = startAfter;
+            this.endAfter = endAfter;
+            this.endBefore = endBefore;
+        }
+
+        private static StateFilter of(BookingState state, LocalDateTime now) {
+            switch (state) {
+                case CURRENT:
+                    return new StateFilter(EnumSet.allOf(BookingStatus.class), MIN_DATE, now, MAX_DATE);
                 case PAST:
-                return booking.getEndDate().isBefore(LocalDateTime.now());
-            case FUTURE:
-                return booking.getStartDate().isAfter(LocalDateTime.now());
-            case CURRENT:
-                return booking.getStartDate().isBefore(LocalDateTime.now())
-                        && booking.getEndDate().isAfter(LocalDateTime.now());
-            case WAITING:
-            case REJECTED:
-                return booking.getStatus().name().equals(state.name());
-            default:
-                return true;
+                    return new StateFilter(EnumSet.allOf(BookingStatus.class), MIN_DATE, MIN_DATE, now);
+                case FUTURE:
+                    return new StateFilter(EnumSet.allOf(BookingStatus.class), now, MIN_DATE, MAX_DATE);
+                case WAITING:
+                    return new StateFilter(EnumSet.of(WAITING), MIN_DATE, MIN_DATE, MAX_DATE);
+                case REJECTED:
+                    return new StateFilter(EnumSet.of(REJECTED), MIN_DATE, MIN_DATE, MAX_DATE);
+                default:
+                    return new StateFilter(EnumSet.allOf(BookingStatus.class), MIN_DATE, MIN_DATE, MAX_DATE);
+            }
         }
     }
 }
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.item.controller.dto.*;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImportService;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -19,6 +28,7 @@ public class ItemController {
     private final ItemMapper mapper;
     private final ItemService itemService;
     private final CommentMapper commentMapper;
+    private final ItemImportService itemImportService;
     private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
 
 
@@ -30,18 +40,48 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemResponse> getAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                     @RequestParam(defaultValue = "0", required = false) int from,
-                                     @RequestParam(defaultValue = "20", required = false) int size) {
-        return mapper.toResponse(itemService.findAllByOwnerId(userId, from, size));
+    public ResponseEntity<List<ItemResponse>> getAll(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                     @RequestParam(defaultValue = "0", required = false) int from,
+                                                     @RequestParam(defaultValue = "20", required = false) int size,
+                                                     @RequestParam(required = false) String cursor) {
+        List<Item> items = cursor == null
+                ? itemService.findAllByOwnerId(userId, from, size)
+                : itemService.findAllByOwnerId(userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(mapper.toResponse(items), size, item -> PageCursor.of(item.getId()));
     }
 
     @GetMapping("/search")
-    public List<ItemResponse> search(@RequestParam String text,
-                                     @RequestHeader(X_SHARER_USER_ID) Long userId,
-                                     @RequestParam(defaultValue = "0", required = false) int from,
-                                     @RequestParam(defaultValue = "20", required = false) int size) {
-        return mapper.toResponse(itemService.search(text, userId, from, size));
+    public ResponseEntity<List<ItemResponse>> search(@RequestParam String text,
+                                                     @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                     @RequestParam(defaultValue = "0", required = false) int from,
+                                                     @RequestParam(defaultValue = "20", required = false) int size,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime start,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime end) {
+        if (start == null && end == null) {
+            List<Item> items = cursor == null
+                    ? itemService.search(text, userId, from, size)
+                    : itemService.search(text, userId, PageCursor.decode(cursor), size);
+            return PageCursor.toResponse(mapper.toResponse(items), size,
+                    item -> itemService.searchCursor(text, item.getId()));
+        }
+        List<Item> items = cursor == null
+                ? itemService.searchFree(text, userId, start, end, from, size)
+                : itemService.searchFree(text, userId, start, end, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(mapper.toResponse(items), size, item -> PageCursor.of(item.getId()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<FreeSlotResponse> getAvailability(@PathVariable Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        return mapper.toSlotResponse(itemService.findFreeSlots(itemId, from, to));
     }
 
     @PostMapping
@@ -50,6 +90,22 @@ public class ItemController {
         return mapper.toResponse(itemService.create(itemDto, userId));
     }
 
+    @PostMapping("/bulk")
+    public List<ItemResponse> createAll(@RequestBody List<ItemCreateRequest> itemDtos,
+                                        @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        return mapper.toResponse(itemService.createAll(itemDtos, userId));
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ItemImportResponse importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                          @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                          InputStream body) {
+        ItemImportFormat format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ItemImportFormat.CSV
+                : ItemImportFormat.JSONL;
+        return mapper.toImportResponse(itemImportService.importItems(userId, format, body));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponse update(@PathVariable Long itemId,
                                @RequestBody ItemUpdateRequest itemDto,
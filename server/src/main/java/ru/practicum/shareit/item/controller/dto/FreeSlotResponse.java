@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.controller.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class FreeSlotResponse {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.controller.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ItemImportResponse {
+    private int imported;
+    private int failed;
+    private List<ItemImportRowResponse> rows;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.controller.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ItemImportRowResponse {
+    private long line;
+    private Long itemId;
+    private String error;
+}
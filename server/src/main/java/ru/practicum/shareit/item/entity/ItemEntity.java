@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.entity.ItemRequestEntity;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,11 +15,14 @@ import javax.persistence.*;
 @NoArgsConstructor
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @EqualsAndHashCode
 @Table(name = "items")
 public class ItemEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(updatable = false)
     private Long id;
 
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the name, description, available and optional requestId columns.
+ * Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+class CsvItemRowReader implements ItemRowReader {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+    private long recordLine;
+
+    CsvItemRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new ValidationException("пустой CSV");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey(NAME) || !columns.containsKey(DESCRIPTION) || !columns.containsKey(AVAILABLE)) {
+            throw new ValidationException("CSV должен содержать колонки name, description, available");
+        }
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        String available = column(record, AVAILABLE);
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return ItemRow.failed(recordLine, "available должно быть true или false");
+        }
+        String requestId = column(record, REQUEST_ID);
+        Long parsedRequestId = null;
+        if (requestId != null && !requestId.isBlank()) {
+            try {
+                parsedRequestId = Long.valueOf(requestId.trim());
+            } catch (NumberFormatException e) {
+                return ItemRow.failed(recordLine, "некорректный requestId: " + requestId);
+            }
+        }
+        return ItemRow.of(recordLine, new ItemCreateRequest(
+                column(record, NAME),
+                column(record, DESCRIPTION),
+                available == null ? null : Boolean.valueOf(available),
+                parsedRequestId
+        ));
+    }
+
+    private String column(List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.importer;
+
+public enum ItemImportFormat {
+    JSONL,
+    CSV
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.model.ItemImportReport;
+
+import java.io.InputStream;
+
+public interface ItemImportService {
+    ItemImportReport importItems(Long userId, ItemImportFormat format, InputStream input);
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+import ru.practicum.shareit.item.model.ItemImportReport;
+import ru.practicum.shareit.item.model.ItemImportRow;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the payload row by row and saves valid rows in batches of {@link #BATCH_SIZE},
+ * one transaction per batch. A failed batch is reported row by row and does not stop the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportServiceImpl implements ItemImportService {
+    static final int BATCH_SIZE = 500;
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ItemImportReport importItems(Long userId, ItemImportFormat format, InputStream input) {
+        User owner = userService.findById(userId);
+        ItemImportReport report = new ItemImportReport();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        try {
+            ItemRowReader rows = format == ItemImportFormat.CSV
+                    ? new CsvItemRowReader(reader)
+                    : new JsonLinesItemRowReader(reader, objectMapper);
+            List<ItemRow> batch = new ArrayList<>(BATCH_SIZE);
+            for (ItemRow row = rows.next(); row != null; row = rows.next()) {
+                String error = row.getError() != null ? row.getError() : validate(row.getRequest());
+                if (error != null) {
+                    report.addFailed(row.getLine(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    save(batch, owner, report);
+                    batch.clear();
+                }
+            }
+            save(batch, owner, report);
+        } catch (IOException e) {
+            throw new ValidationException("не удалось прочитать данные импорта: " + e.getMessage());
+        }
+        report.getRows().sort(Comparator.comparingLong(ItemImportRow::getLine));
+        log.info("Импорт вещей пользователя {}: сохранено {}, с ошибками {}",
+                userId, report.getImported(), report.getFailed());
+        return report;
+    }
+
+    private void save(List<ItemRow> batch, User owner, ItemImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> ids;
+        try {
+            ids = itemService.saveAll(batch.stream().map(ItemRow::getRequest).collect(Collectors.toList()), owner);
+        } catch (DataAccessException e) {
+            String error = "не удалось сохранить: " + e.getMostSpecificCause().getMessage();
+            batch.forEach(row -> report.addFailed(row.getLine(), error));
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            report.addImported(batch.get(i).getLine(), ids.get(i));
+        }
+    }
+
+    private String validate(ItemCreateRequest request) {
+        if (request.getName() == null || request.getName().isEmpty()) {
+            return "не указано название";
+        }
+        if (request.getDescription() == null) {
+            return "не указано описание";
+        }
+        if (request.getAvailable() == null) {
+            return "не указан статус доступности";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+
+/**
+ * One parsed row of an import: either a request or the reason it could not be read.
+ */
+@Getter
+@AllArgsConstructor
+class ItemRow {
+    private final long line;
+    private final ItemCreateRequest request;
+    private final String error;
+
+    static ItemRow of(long line, ItemCreateRequest request) {
+        return new ItemRow(line, request, null);
+    }
+
+    static ItemRow failed(long line, String error) {
+        return new ItemRow(line, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.importer;
+
+import java.io.IOException;
+
+/**
+ * Reads import rows one at a time, so that the payload is never held in memory as a whole.
+ */
+interface ItemRowReader {
+
+    /**
+     * Returns the next row or null when the input is exhausted.
+     */
+    ItemRow next() throws IOException;
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One {@link ItemCreateRequest} JSON object per line; blank lines are skipped.
+ */
+class JsonLinesItemRowReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    JsonLinesItemRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        String value;
+        do {
+            value = reader.readLine();
+            if (value == null) {
+                return null;
+            }
+            line++;
+        } while (value.isBlank());
+        try {
+            return ItemRow.of(line, objectMapper.readValue(value, ItemCreateRequest.class));
+        } catch (JsonProcessingException e) {
+            return ItemRow.failed(line, "некорректный JSON: " + e.getOriginalMessage());
+        }
+    }
+}
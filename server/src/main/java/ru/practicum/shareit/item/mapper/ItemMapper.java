@@ -3,11 +3,15 @@ package ru.practicum.shareit.item.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.mapper.LinkedBookingMapper;
+import ru.practicum.shareit.item.controller.dto.FreeSlotResponse;
 import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+import ru.practicum.shareit.item.controller.dto.ItemImportResponse;
 import ru.practicum.shareit.item.controller.dto.ItemResponse;
 import ru.practicum.shareit.item.controller.dto.ItemUpdateRequest;
 import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.model.FreeSlot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportReport;
 
 import java.util.List;
 
@@ -30,4 +34,8 @@ public interface ItemMapper {
     List<ItemResponse> toResponse(List<Item> items);
 
     List<ItemEntity> toEntity(List<Item> items);
+
+    List<FreeSlotResponse> toSlotResponse(List<FreeSlot> slots);
+
+    ItemImportResponse toImportResponse(ItemImportReport report);
 }
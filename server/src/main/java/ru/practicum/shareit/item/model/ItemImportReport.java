@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ItemImportReport {
+    private int imported;
+    private int failed;
+    private List<ItemImportRow> rows = new ArrayList<>();
+
+    public void addImported(long line, Long itemId) {
+        imported++;
+        rows.add(new ItemImportRow(line, itemId, null));
+    }
+
+    public void addFailed(long line, String error) {
+        failed++;
+        rows.add(new ItemImportRow(line, null, error));
+    }
+}
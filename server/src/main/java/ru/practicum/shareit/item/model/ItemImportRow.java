@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemImportRow {
+    private long line;
+    private Long itemId;
+    private String error;
+}
@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.entity.CommentEntity;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     List<CommentEntity> findCommentByItemId(Long itemId);
+
+    @EntityGraph(attributePaths = {"author", "item", "item.owner", "item.request", "item.request.requestor"})
+    List<CommentEntity> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -1,22 +1,122 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.entity.ItemEntity;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<ItemEntity, Long> {
 
+    interface IndexedItem {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+    }
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<ItemEntity> findAllByOwnerId(Long userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
+    List<ItemEntity> findAllByOwnerIdAndIdGreaterThan(Long userId, Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
     @Query("select ie from ItemEntity ie " +
             "where ie.available = true " +
             "and (lower(ie.name) like lower(concat('%', :text, '%')) " +
             "or lower(ie.description) like lower(concat ('%',:text,'%')))")
     List<ItemEntity> findAllByNameOrDescription(@Param("text") String text, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    @Query("select ie from ItemEntity ie " +
+            "where ie.available = true " +
+            "and ie.id > :id " +
+            "and (lower(ie.name) like lower(concat('%', :text, '%')) " +
+            "or lower(ie.description) like lower(concat ('%',:text,'%')))")
+    List<ItemEntity> findAllByNameOrDescriptionAndIdGreaterThan(@Param("text") String text,
+                                                                @Param("id") Long id,
+                                                                Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    @Query("select ie from ItemEntity ie " +
+            "where ie.available = true " +
+            "and (lower(ie.name) like lower(concat('%', :text, '%')) " +
+            "or lower(ie.description) like lower(concat ('%',:text,'%'))) " +
+            "and not exists (select b.id from BookingEntity b " +
+            "where b.item = ie and b.status = :status " +
+            "and b.startDate < :end and b.endDate > :start)")
+    List<ItemEntity> findAllByNameOrDescriptionAndFreeBetween(@Param("text") String text,
+                                                              @Param("status") BookingStatus status,
+                                                              @Param("start") LocalDateTime start,
+                                                              @Param("end") LocalDateTime end,
+                                                              Pageable pageable);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    @Query("select ie from ItemEntity ie " +
+            "where ie.available = true " +
+            "and ie.id > :id " +
+            "and (lower(ie.name) like lower(concat('%', :text, '%')) " +
+            "or lower(ie.description) like lower(concat ('%',:text,'%'))) " +
+            "and not exists (select b.id from BookingEntity b " +
+            "where b.item = ie and b.status = :status " +
+            "and b.startDate < :end and b.endDate > :start)")
+    List<ItemEntity> findAllByNameOrDescriptionAndFreeBetweenAndIdGreaterThan(@Param("text") String text,
+                                                                              @Param("status") BookingStatus status,
+                                                                              @Param("start") LocalDateTime start,
+                                                                              @Param("end") LocalDateTime end,
+                                                                              @Param("id") Long id,
+                                                                              Pageable pageable);
+
+    @Query(value = "select i.id from items i " +
+            "where i.available = true " +
+            "and (i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "or lower(i.name) like lower(concat('%', :text, '%')) " +
+            "or lower(i.description) like lower(concat('%', :text, '%'))) " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc, i.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Number> findIdsByFullText(@Param("text") String text, @Param("from") int from, @Param("size") int size);
+
+    @Query(value = "select ts_rank(i.search_vector, plainto_tsquery('simple', :text)) from items i " +
+            "where i.id = :id", nativeQuery = true)
+    Number findSearchRank(@Param("text") String text, @Param("id") Long id);
+
+    /**
+     * Continues {@link #findIdsByFullText} after the item with the given rank and id, in the same (rank desc, id) order.
+     */
+    @Query(value = "select i.id from items i " +
+            "where i.available = true " +
+            "and (i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "or lower(i.name) like lower(concat('%', :text, '%')) " +
+            "or lower(i.description) like lower(concat('%', :text, '%'))) " +
+            "and (ts_rank(i.search_vector, plainto_tsquery('simple', :text)) < :rank " +
+            "or (ts_rank(i.search_vector, plainto_tsquery('simple', :text)) = :rank and i.id > :id)) " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc, i.id " +
+            "limit :size", nativeQuery = true)
+    List<Number> findIdsByFullTextAfter(@Param("text") String text,
+                                        @Param("rank") Float rank,
+                                        @Param("id") Long id,
+                                        @Param("size") int size);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.requestor"})
+    List<ItemEntity> findAllByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select ie.id as id, ie.name as name, ie.description as description " +
+            "from ItemEntity ie where ie.available = true")
+    Stream<IndexedItem> streamAllAvailable();
+
     List<ItemEntity> findAllByRequestIdIn(List<Long> idList);
 }
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index of available items kept in memory: every word of the name and description points to
+ * the sorted ids of the items containing it. A query matches items having, for each query word,
+ * a word starting with it. Only the requested page is read from the database.
+ * The index is built from the items table on startup and then updated through {@link #index(ItemEntity)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearch implements ItemSearch, SmartInitializingSingleton {
+    private static final long[] EMPTY = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> itemTokens = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ItemRepository.IndexedItem> items = itemRepository.streamAllAvailable()) {
+                items.forEach(item -> put(item.getId(), item.getName(), item.getDescription()));
+            }
+        });
+        log.info("Индекс поиска построен: {} вещей, {} слов", itemTokens.size(), postings.size());
+    }
+
+    @Override
+    public void index(ItemEntity item) {
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            put(item.getId(), item.getName(), item.getDescription());
+        } else {
+            remove(item.getId());
+        }
+    }
+
+    @Override
+    public List<ItemEntity> search(String text, int from, int size) {
+        long[] ids = find(text);
+        if (from >= ids.length) {
+            return List.of();
+        }
+        return load(Arrays.copyOfRange(ids, from, Math.min(ids.length, from + size)));
+    }
+
+    @Override
+    public List<ItemEntity> searchAfter(String text, PageCursor cursor, int size) {
+        long[] ids = find(text);
+        int position = Arrays.binarySearch(ids, cursor.getId());
+        int start = position >= 0 ? position + 1 : -position - 1;
+        return load(Arrays.copyOfRange(ids, start, Math.min(ids.length, start + size)));
+    }
+
+    private long[] find(String text) {
+        List<String> queryTokens = tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            for (String token : queryTokens) {
+                long[] matches = EMPTY;
+                for (PostingList list : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+                    matches = PostingList.union(matches, list.toArray());
+                }
+                result = result == null ? matches : PostingList.intersect(result, matches);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ItemEntity> load(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> page = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        return itemRepository.findAllByIdIn(page).stream()
+                .sorted(Comparator.comparing(ItemEntity::getId))
+                .collect(Collectors.toList());
+    }
+
+    private void put(Long id, String name, String description) {
+        Set<String> tokens = new HashSet<>(tokenize(name));
+        tokens.addAll(tokenize(description));
+        lock.writeLock().lock();
+        try {
+            removeTokens(id);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+            }
+            itemTokens.put(id, tokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeTokens(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeTokens(Long id) {
+        Set<String> tokens = itemTokens.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            PostingList list = postings.get(token);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.entity.ItemEntity;
+
+import java.util.List;
+
+public interface ItemSearch {
+    List<ItemEntity> search(String text, int from, int size);
+
+    List<ItemEntity> searchAfter(String text, PageCursor cursor, int size);
+
+    /**
+     * Cursor continuing the results after the item. Engines ordering by id need nothing but the id.
+     */
+    default PageCursor cursorOf(String text, Long itemId) {
+        return PageCursor.of(itemId);
+    }
+
+    /**
+     * Called after an item is created or updated. Engines that query the database directly ignore it.
+     */
+    default void index(ItemEntity item) {
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.OffsetPageable;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Substring search with {@code lower(...) like '%text%'}. Works on any database, including H2,
+ * but scans the whole items table.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+    private static final Sort ITEM_SORT = Sort.by(Sort.Direction.ASC, "id");
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemEntity> search(String text, int from, int size) {
+        return itemRepository.findAllByNameOrDescription(text, new OffsetPageable(from, size, ITEM_SORT));
+    }
+
+    @Override
+    public List<ItemEntity> searchAfter(String text, PageCursor cursor, int size) {
+        return itemRepository.findAllByNameOrDescriptionAndIdGreaterThan(text, cursor.getId(),
+                PageRequest.of(0, size, ITEM_SORT));
+    }
+}
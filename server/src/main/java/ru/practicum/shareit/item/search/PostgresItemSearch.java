@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Search backed by the generated items.search_vector column and pg_trgm indexes (V3 PostgreSQL migration).
+ * Whole-word matches are ranked with ts_rank, substring matches are served by the trigram indexes.
+ * The page of ids is selected natively, then the items are loaded with their owner and request in one query.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class PostgresItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemEntity> search(String text, int from, int size) {
+        return load(itemRepository.findIdsByFullText(text, from, size));
+    }
+
+    @Override
+    public List<ItemEntity> searchAfter(String text, PageCursor cursor, int size) {
+        if (cursor.getRank() == null) {
+            throw new ValidationException("Некорректный cursor: нет ранга результата поиска");
+        }
+        return load(itemRepository.findIdsByFullTextAfter(text, cursor.getRank(), cursor.getId(), size));
+    }
+
+    /**
+     * The rank is taken when the page is issued and travels in the cursor, so the next page does not depend
+     * on the last item still existing or keeping its text.
+     */
+    @Override
+    public PageCursor cursorOf(String text, Long itemId) {
+        Number rank = itemRepository.findSearchRank(text, itemId);
+        if (rank == null) {
+            throw new DataNotFoundException(String.format("Вещь с id %d не найдена", itemId));
+        }
+        return PageCursor.ofRank(rank.floatValue(), itemId);
+    }
+
+    private List<ItemEntity> load(List<Number> rankedIds) {
+        List<Long> ids = rankedIds.stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return itemRepository.findAllByIdIn(ids).stream()
+                .sorted(Comparator.comparing(item -> positions.get(item.getId())))
+                .collect(Collectors.toList());
+    }
+}
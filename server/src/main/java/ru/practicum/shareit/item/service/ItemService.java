@@ -1,22 +1,51 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.item.controller.dto.CommentCreateRequest;
 import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.FreeSlot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     Item create(ItemCreateRequest itemDto, Long userId);
 
+    List<Item> createAll(List<ItemCreateRequest> itemDtos, Long userId);
+
+    /**
+     * Saves items of an owner already loaded by the caller and returns their ids in request order.
+     */
+    List<Long> saveAll(List<ItemCreateRequest> itemDtos, User owner);
+
     Item findById(Long itemId, Long userId);
 
     List<Item> search(String text, Long userId, int from, int size);
 
+    List<Item> search(String text, Long userId, PageCursor cursor, int size);
+
+    /**
+     * Cursor of the next search page after the item, in the order of the configured search engine.
+     */
+    PageCursor searchCursor(String text, Long itemId);
+
+    List<Item> searchFree(String text, Long userId, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    List<Item> searchFree(String text, Long userId, LocalDateTime start, LocalDateTime end, PageCursor cursor, int size);
+
     Item update(Item itemDto, Long userId, Long itemId);
 
     List<Item> findAllByOwnerId(Long userId, int from, int size);
 
+    List<Item> findAllByOwnerId(Long userId, PageCursor cursor, int size);
+
+    /**
+     * Returns the free parts of [from, to). Time before now is never reported as free.
+     */
+    List<FreeSlot> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to);
+
     Comment createComment(Long itemId, CommentCreateRequest commentCreateRequest, Long userId);
 }
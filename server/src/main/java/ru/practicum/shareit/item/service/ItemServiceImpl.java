@@ -1,12 +1,18 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.OffsetPageable;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.index.BookedInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.LastNextBookingIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -19,21 +25,30 @@ import ru.practicum.shareit.item.entity.ItemEntity;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.FreeSlot;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final Sort ITEM_SORT = Sort.by(Sort.Direction.ASC, "id");
+    static final int MAX_BULK_SIZE = 500;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
@@ -42,6 +57,9 @@ public class ItemServiceImpl implements ItemService {
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final ItemRequestService itemRequestService;
+    private final ItemSearch itemSearch;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final LastNextBookingIndex lastNextBookingIndex;
 
     @Override
     public Item create(ItemCreateRequest itemCreateRequest, Long userId) {
@@ -52,9 +70,33 @@ public class ItemServiceImpl implements ItemService {
         item.setRequest(itemRequestService.findOptionalById(itemCreateRequest.getRequestId()).orElse(null));
         ItemEntity itemEntity = itemMapper.toEntity(item);
         itemRepository.save(itemEntity);
+        itemSearch.index(itemEntity);
         return getItem(itemMapper.toItem(itemEntity), userId);
     }
 
+    /**
+     * Saves all items with one saveAll call, so that the inserts go out as JDBC batches.
+     * New items have no comments or bookings yet, so they are returned without looking those up.
+     */
+    @Override
+    public List<Item> createAll(List<ItemCreateRequest> itemCreateRequests, Long userId) {
+        if (itemCreateRequests.size() > MAX_BULK_SIZE) {
+            throw new ValidationException(String.format(
+                    "Можно создать не больше %d вещей за раз, для больших объёмов есть /items/import", MAX_BULK_SIZE));
+        }
+        User user = userService.findById(userId);
+        List<Item> items = itemMapper.toItem(saveEntities(itemCreateRequests, user));
+        items.forEach(item -> item.setComments(new ArrayList<>()));
+        return items;
+    }
+
+    @Override
+    public List<Long> saveAll(List<ItemCreateRequest> itemCreateRequests, User owner) {
+        return saveEntities(itemCreateRequests, owner).stream()
+                .map(ItemEntity::getId)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Item findById(Long itemId, Long userId) {
         return itemRepository.findById(itemId)
@@ -69,11 +111,42 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isBlank()) {
             return new ArrayList<>();
         }
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.ASC, "id"));
-        return itemRepository.findAllByNameOrDescription(text, pageable).stream()
-                .map(itemMapper::toItem)
-                .map(item -> getItem(item, userId))
-                .collect(Collectors.toList());
+        return getItems(itemSearch.search(text, from, size), userId);
+    }
+
+    @Override
+    public List<Item> search(String text, Long userId, PageCursor cursor, int size) {
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return getItems(itemSearch.searchAfter(text, cursor, size), userId);
+    }
+
+    @Override
+    public PageCursor searchCursor(String text, Long itemId) {
+        return itemSearch.cursorOf(text, itemId);
+    }
+
+    @Override
+    public List<Item> searchFree(String text, Long userId, LocalDateTime start, LocalDateTime end,
+                                 int from, int size) {
+        checkWindow(start, end);
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return getItems(itemRepository.findAllByNameOrDescriptionAndFreeBetween(text, BookingStatus.APPROVED,
+                start, end, new OffsetPageable(from, size, ITEM_SORT)), userId);
+    }
+
+    @Override
+    public List<Item> searchFree(String text, Long userId, LocalDateTime start, LocalDateTime end,
+                                 PageCursor cursor, int size) {
+        checkWindow(start, end);
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return getItems(itemRepository.findAllByNameOrDescriptionAndFreeBetweenAndIdGreaterThan(text,
+                BookingStatus.APPROVED, start, end, cursor.getId(), PageRequest.of(0, size, ITEM_SORT)), userId);
     }
 
     @Override
@@ -96,16 +169,46 @@ public class ItemServiceImpl implements ItemService {
         }
         ItemEntity itemEntity = itemMapper.toEntity(item);
         itemRepository.save(itemEntity);
+        itemSearch.index(itemEntity);
         return getItem(itemMapper.toItem(itemEntity), userId);
     }
 
     @Override
     public List<Item> findAllByOwnerId(Long userId, int from, int size) {
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.ASC, "id"));
-        return itemRepository.findAllByOwnerId(userId, pageable).stream()
-                .map(itemMapper::toItem)
-                .map(item -> getItem(item, userId))
-                .collect(Collectors.toList());
+        Pageable pageable = new OffsetPageable(from, size, ITEM_SORT);
+        return getItems(itemRepository.findAllByOwnerId(userId, pageable), userId);
+    }
+
+    @Override
+    public List<Item> findAllByOwnerId(Long userId, PageCursor cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size, ITEM_SORT);
+        return getItems(itemRepository.findAllByOwnerIdAndIdGreaterThan(userId, cursor.getId(), pageable), userId);
+    }
+
+    @Override
+    public List<FreeSlot> findFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        if (!itemRepository.existsById(itemId)) {
+            throw new DataNotFoundException(String.format("Вещь с id %d не найдена", itemId));
+        }
+        List<FreeSlot> slots = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime freeFrom = from.isBefore(now) ? now : from;
+        if (!freeFrom.isBefore(to)) {
+            return slots;
+        }
+        for (BookedInterval busy : bookingIntervalIndex.findBusy(itemId, freeFrom, to)) {
+            if (busy.getStart().isAfter(freeFrom)) {
+                slots.add(new FreeSlot(freeFrom, busy.getStart()));
+            }
+            if (busy.getEnd().isAfter(freeFrom)) {
+                freeFrom = busy.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(to)) {
+            slots.add(new FreeSlot(freeFrom, to));
+        }
+        return slots;
     }
 
     @Override
@@ -128,27 +231,87 @@ public class ItemServiceImpl implements ItemService {
 
     }
 
+    private void checkWindow(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("некорректный интервал дат");
+        }
+    }
+
+    private List<ItemEntity> saveEntities(List<ItemCreateRequest> itemCreateRequests, User owner) {
+        Map<Long, ItemRequest> requests = new HashMap<>();
+        List<ItemEntity> itemEntities = new ArrayList<>(itemCreateRequests.size());
+        for (ItemCreateRequest itemCreateRequest : itemCreateRequests) {
+            Item item = itemMapper.toItem(itemCreateRequest);
+            item.setOwner(owner);
+            Long requestId = itemCreateRequest.getRequestId();
+            if (requestId != null) {
+                item.setRequest(requests.computeIfAbsent(requestId,
+                        id -> itemRequestService.findOptionalById(id).orElse(null)));
+            }
+            itemEntities.add(itemMapper.toEntity(item));
+        }
+        itemRepository.saveAll(itemEntities);
+        itemEntities.forEach(itemSearch::index);
+        return itemEntities;
+    }
+
+    private List<Item> getItems(List<ItemEntity> itemEntities, Long userId) {
+        List<Item> items = itemMapper.toItem(itemEntities);
+        if (items.isEmpty()) {
+            return items;
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .map(commentMapper::toComment)
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        List<Long> ownItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        findLastAndNextBookings(ownItemIds, lastBookings, nextBookings);
+        for (Item item : items) {
+            item.setComments(comments.getOrDefault(item.getId(), new ArrayList<>()));
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
+        }
+        return items;
+    }
+
     private Item getItem(Item item, Long userId) {
         item.setComments(commentMapper.toComment(commentRepository.findCommentByItemId(item.getId())));
         if (item.getOwner().getId().equals(userId)) {
-            LocalDateTime currentTime = LocalDateTime.now();
-            BookingEntity last = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(
-                            item.getId(),
-                            BookingStatus.APPROVED,
-                            currentTime
-                    )
-                    .orElse(null);
-            item.setLastBooking(bookingMapper.toBooking(last));
-            BookingEntity next = bookingRepository
-                    .findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDate(
-                            item.getId(),
-                            BookingStatus.APPROVED,
-                            currentTime
-                    )
-                    .orElse(null);
-            item.setNextBooking(bookingMapper.toBooking(next));
+            Map<Long, Booking> lastBookings = new HashMap<>();
+            Map<Long, Booking> nextBookings = new HashMap<>();
+            findLastAndNextBookings(Collections.singletonList(item.getId()), lastBookings, nextBookings);
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
         }
         return item;
     }
+
+    /**
+     * Looks the booking ids up in the precomputed index and loads them with a single query by primary key.
+     */
+    private void findLastAndNextBookings(List<Long> itemIds,
+                                         Map<Long, Booking> lastBookings,
+                                         Map<Long, Booking> nextBookings) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime currentTime = LocalDateTime.now();
+        List<Long> bookingIds = lastNextBookingIndex.findLastAndNextIds(itemIds, currentTime);
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        for (BookingEntity bookingEntity : bookingRepository.findAllWithItemAndBookerByIdIn(bookingIds)) {
+            Map<Long, Booking> target = bookingEntity.getStartDate().isBefore(currentTime)
+                    ? lastBookings
+                    : nextBookings;
+            target.put(bookingEntity.getItem().getId(), bookingMapper.toBooking(bookingEntity));
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Service methods are timed with {@code @Timed("shareit.service")}, tagged by class and method.
+ * Repository calls, Hikari pool, JVM and HTTP metrics are registered by Spring Boot itself.
+ * Hibernate queries get their own timers, slow queries are logged to {@code org.hibernate.SQL_SLOW}
+ * and repeated statements within one HTTP request are reported as possible N+1 selects.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    RequestStatementCounter requestStatementCounter() {
+        return new RequestStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMetricsCustomizer(
+            MeterRegistry registry,
+            RequestStatementCounter statementCounter,
+            @Value("${shareit.jpa.slow-query-threshold-ms:200}") long slowQueryThresholdMs) {
+        return properties -> {
+            properties.put(StatisticsInitiator.STATS_BUILDER, new QueryStatisticsFactory(registry));
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryThresholdMs);
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<NPlusOneDetectionFilter> nPlusOneDetectionFilter(
+            MeterRegistry registry,
+            RequestStatementCounter statementCounter,
+            @Value("${shareit.jpa.n-plus-one-threshold:10}") int threshold) {
+        Counter detected = Counter.builder("shareit.jpa.n_plus_one")
+                .description("HTTP requests that repeated one SQL statement at least the threshold number of times")
+                .register(registry);
+        return new FilterRegistrationBean<>(new NPlusOneDetectionFilter(statementCounter, threshold, detected));
+    }
+}
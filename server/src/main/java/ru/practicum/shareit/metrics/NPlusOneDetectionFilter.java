@@ -0,0 +1,51 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Warns when one HTTP request prepares the same SQL statement at least {@code threshold} times,
+ * which is how an N+1 select shows up.
+ */
+@Slf4j
+class NPlusOneDetectionFilter extends OncePerRequestFilter {
+    private final RequestStatementCounter statementCounter;
+    private final int threshold;
+    private final Counter detected;
+
+    NPlusOneDetectionFilter(RequestStatementCounter statementCounter, int threshold, Counter detected) {
+        this.statementCounter = statementCounter;
+        this.threshold = threshold;
+        this.detected = detected;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            boolean repeated = false;
+            for (Map.Entry<String, Integer> entry : statementCounter.finish().entrySet()) {
+                if (entry.getValue() >= threshold) {
+                    repeated = true;
+                    log.warn("Возможный N+1: запрос выполнен {} раз за {} {}: {}",
+                            entry.getValue(), request.getMethod(), request.getRequestURI(), entry.getKey());
+                }
+            }
+            if (repeated) {
+                detected.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the regular Hibernate statistics and additionally records every executed query into
+ * the {@code shareit.jpa.query} timer and the {@code shareit.jpa.query.rows} summary, tagged by query id.
+ * The id is the start of the query's SHA-256 hash, so it is the same across restarts and instances;
+ * the query behind an id is logged once, when the id is first used.
+ * Expanded collection parameters are folded back, so {@code in (:ids_0, :ids_1)} and {@code in (:ids_0)}
+ * share one id.
+ */
+@Slf4j
+class QueryStatisticsFactory implements StatisticsFactory {
+    private static final Pattern EXPANDED_PARAMETER = Pattern.compile("\\(:(\\w+)_0(?:, :\\1_\\d+)*\\)");
+    private static final int ID_BYTES = 6;
+
+    private final MeterRegistry registry;
+    private final Map<String, String> queryIds = new ConcurrentHashMap<>();
+
+    QueryStatisticsFactory(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new StatisticsImpl(sessionFactory) {
+            @Override
+            public void queryExecuted(String query, int rows, long time) {
+                super.queryExecuted(query, rows, time);
+                String id = queryId(query);
+                Timer.builder("shareit.jpa.query")
+                        .tag("query", id)
+                        .register(registry)
+                        .record(time, TimeUnit.MILLISECONDS);
+                DistributionSummary.builder("shareit.jpa.query.rows")
+                        .tag("query", id)
+                        .register(registry)
+                        .record(rows);
+            }
+        };
+    }
+
+    String queryId(String query) {
+        String folded = EXPANDED_PARAMETER.matcher(query).replaceAll("(:$1)");
+        return queryIds.computeIfAbsent(folded, text -> {
+            String id = hash(text);
+            log.info("Метрики запроса {}: {}", id, text);
+            return id;
+        });
+    }
+
+    private static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder id = new StringBuilder("q");
+            for (int i = 0; i < ID_BYTES; i++) {
+                id.append(String.format("%02x", digest[i]));
+            }
+            return id.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
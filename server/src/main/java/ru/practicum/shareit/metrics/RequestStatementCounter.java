@@ -0,0 +1,43 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the selects Hibernate prepares on the current thread between {@link #start()}
+ * and {@link #finish()}. Statements prepared outside of that window are not counted, neither are
+ * inserts, updates, deletes and sequence calls: a bulk import repeats them legitimately.
+ */
+class RequestStatementCounter implements StatementInspector {
+    private static final Pattern SELECT = Pattern.compile("\\s*select\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("\\s*select\\s+nextval\\s*\\(",
+            Pattern.CASE_INSENSITIVE);
+
+    private final ThreadLocal<Map<String, Integer>> counts = new ThreadLocal<>();
+
+    void start() {
+        counts.set(new HashMap<>());
+    }
+
+    Map<String, Integer> finish() {
+        Map<String, Integer> result = counts.get();
+        counts.remove();
+        return result != null ? result : Map.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> current = counts.get();
+        if (current != null && isSelect(sql)) {
+            current.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    private static boolean isSelect(String sql) {
+        return SELECT.matcher(sql).lookingAt() && !SEQUENCE_CALL.matcher(sql).lookingAt();
+    }
+}
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.request.controller.dto.ItemRequestCreate;
 import ru.practicum.shareit.request.controller.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
@@ -25,17 +28,27 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestResponse> findAllOwnRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                       @RequestParam(defaultValue = "0", required = false) int from,
-                                                       @RequestParam(defaultValue = "20", required = false) int size) {
-        return itemRequestMapper.toResponse(itemRequestService.findAllByOwnUserId(userId, from, size));
+    public ResponseEntity<List<ItemRequestResponse>> findAllOwnRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                       @RequestParam(defaultValue = "0", required = false) int from,
+                                                                       @RequestParam(defaultValue = "20", required = false) int size,
+                                                                       @RequestParam(required = false) String cursor) {
+        List<ItemRequest> requests = cursor == null
+                ? itemRequestService.findAllByOwnUserId(userId, from, size)
+                : itemRequestService.findAllByOwnUserId(userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(itemRequestMapper.toResponse(requests), size,
+                request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/all")
-    public List<ItemRequestResponse> findAllOtherRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                         @RequestParam(defaultValue = "0", required = false) int from,
-                                                         @RequestParam(defaultValue = "20", required = false) int size) {
-        return itemRequestMapper.toResponse(itemRequestService.findAllByOtherUserId(userId, from, size));
+    public ResponseEntity<List<ItemRequestResponse>> findAllOtherRequest(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                                         @RequestParam(defaultValue = "0", required = false) int from,
+                                                                         @RequestParam(defaultValue = "20", required = false) int size,
+                                                                         @RequestParam(required = false) String cursor) {
+        List<ItemRequest> requests = cursor == null
+                ? itemRequestService.findAllByOtherUserId(userId, from, size)
+                : itemRequestService.findAllByOtherUserId(userId, PageCursor.decode(cursor), size);
+        return PageCursor.toResponse(itemRequestMapper.toResponse(requests), size,
+                request -> PageCursor.of(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
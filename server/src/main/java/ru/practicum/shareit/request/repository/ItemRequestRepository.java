@@ -3,8 +3,10 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.entity.ItemRequestEntity;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequestEntity, Long> {
@@ -14,4 +16,18 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequestEntity,
     @Query(value = "select r from ItemRequestEntity r where r.requestor.id != ?1 ")
     List<ItemRequestEntity> findAllByUserIdNot(Long userId, Pageable pageable);
 
+    @Query(value = "select r from ItemRequestEntity r where r.requestor.id = :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id))")
+    List<ItemRequestEntity> findAllByRequestorIdAfterCursor(@Param("userId") Long userId,
+                                                            @Param("created") LocalDateTime created,
+                                                            @Param("id") Long id,
+                                                            Pageable pageable);
+
+    @Query(value = "select r from ItemRequestEntity r where r.requestor.id != :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id))")
+    List<ItemRequestEntity> findAllByUserIdNotAfterCursor(@Param("userId") Long userId,
+                                                          @Param("created") LocalDateTime created,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.request.controller.dto.ItemRequestCreate;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -13,6 +14,10 @@ public interface ItemRequestService {
 
     List<ItemRequest> findAllByOtherUserId(Long userId, int from, int size);
 
+    List<ItemRequest> findAllByOwnUserId(Long userId, PageCursor cursor, int size);
+
+    List<ItemRequest> findAllByOtherUserId(Long userId, PageCursor cursor, int size);
+
     Optional<ItemRequest> findOptionalById(Long requestId);
 
     ItemRequest findById(Long userId, Long requestId);
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.OffsetPageable;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -17,13 +21,16 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
+    private static final Sort REQUEST_SORT = Sort.by(Sort.Direction.DESC, "created", "id");
 
     private final UserService userService;
     private final ItemRequestRepository itemRequestRepository;
@@ -48,7 +55,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         Objects.requireNonNull(from);
         Objects.requireNonNull(size);
         userService.findById(userId);
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.DESC, "created"));
+        Pageable pageable = new OffsetPageable(from, size, REQUEST_SORT);
         List<ItemRequest> itemRequests = itemRequestMapper.toRequest(itemRequestRepository.findAllByRequestorId(userId, pageable));
         fillRequestItems(itemRequests);
         return itemRequests;
@@ -60,12 +67,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         Objects.requireNonNull(from);
         Objects.requireNonNull(size);
         userService.findById(userId);
-        Pageable pageable = new OffsetPageable(from, size, Sort.by(Sort.Direction.DESC, "created"));
+        Pageable pageable = new OffsetPageable(from, size, REQUEST_SORT);
         List<ItemRequest> itemRequests = itemRequestMapper.toRequest(itemRequestRepository.findAllByUserIdNot(userId, pageable));
         fillRequestItems(itemRequests);
         return itemRequests;
     }
 
+    @Override
+    public List<ItemRequest> findAllByOwnUserId(Long userId, PageCursor cursor, int size) {
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(cursor);
+        userService.findById(userId);
+        Pageable pageable = PageRequest.of(0, size, REQUEST_SORT);
+        List<ItemRequest> itemRequests = itemRequestMapper.toRequest(itemRequestRepository
+                .findAllByRequestorIdAfterCursor(userId, getCreated(cursor), cursor.getId(), pageable));
+        fillRequestItems(itemRequests);
+        return itemRequests;
+    }
+
+    @Override
+    public List<ItemRequest> findAllByOtherUserId(Long userId, PageCursor cursor, int size) {
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(cursor);
+        userService.findById(userId);
+        Pageable pageable = PageRequest.of(0, size, REQUEST_SORT);
+        List<ItemRequest> itemRequests = itemRequestMapper.toRequest(itemRequestRepository
+                .findAllByUserIdNotAfterCursor(userId, getCreated(cursor), cursor.getId(), pageable));
+        fillRequestItems(itemRequests);
+        return itemRequests;
+    }
+
     @Override
     public Optional<ItemRequest> findOptionalById(Long requestId) {
         if (requestId == null) {
@@ -85,6 +116,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                         () -> new DataNotFoundException(String.format("Запрос с id %d не найден", requestId)));
     }
 
+    private LocalDateTime getCreated(PageCursor cursor) {
+        if (cursor.getSortKey() == null) {
+            throw new ValidationException("cursor не содержит даты создания запроса");
+        }
+        return cursor.getSortKey();
+    }
+
     private void fillRequestItems(List<ItemRequest> itemRequests) {
         List<Long> ids = itemRequests.stream()
                 .map(ItemRequest::getId)
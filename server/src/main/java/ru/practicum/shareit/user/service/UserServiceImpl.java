@@ -1,6 +1,10 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.DataNotFoundException;
@@ -13,8 +17,11 @@ import javax.transaction.Transactional;
 import java.util.List;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    public static final String USER_CACHE = "users";
+
     private final UserRepository userRepository;
 
     @Override
@@ -32,7 +39,12 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email).orElse(null);
     }
 
+    /**
+     * Cached: most operations call this only to check that the user exists.
+     * Size and TTL of the cache are set by spring.cache.caffeine.spec.
+     */
     @Override
+    @Cacheable(cacheNames = USER_CACHE, key = "#userId")
     public User findById(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(
@@ -40,11 +52,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CachePut(cacheNames = USER_CACHE, key = "#result.id")
     public User update(User userDto) {
         if (userDto.getId() == null) {
             throw new ValidationException("не приходить id");
         }
-        User changeUser = findById(userDto.getId());
+        User changeUser = userRepository.findById(userDto.getId())
+                .orElseThrow(() -> new DataNotFoundException(
+                        String.format("Пользователь с id %d не найден", userDto.getId())));
         String newEmail = userDto.getEmail();
         if (newEmail != null) {
             User emailUser = findByEmail(newEmail);
@@ -67,6 +82,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     @Modifying
+    @CacheEvict(cacheNames = USER_CACHE, key = "#userId")
     public void deleteById(Long userId) {
         userRepository.deleteById(userId);
     }
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-DROP TABLE IF EXISTS users CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
     id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     email varchar(500) NOT NULL UNIQUE,
@@ -42,3 +36,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     booker_id bigint REFERENCES users(id),
     status varchar(100) NOT NULL
 );
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items(owner_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings(booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings(item_id, start_date);
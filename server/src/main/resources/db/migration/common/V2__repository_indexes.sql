@@ -0,0 +1,6 @@
+DROP INDEX IF EXISTS idx_bookings_item_start;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings(item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items(request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments(item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests(requestor_id, create_date);
@@ -0,0 +1,35 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- The constraint cannot be added while overlapping approved bookings exist. They are not resolved
+-- automatically: the migration stops and lists them, reject one booking of each pair
+-- (UPDATE bookings SET status = 'REJECTED' WHERE id = ...) and restart the server.
+DO $$
+DECLARE
+    conflicts text;
+BEGIN
+    SELECT string_agg(a.id || '/' || b.id, ', ')
+    INTO conflicts
+    FROM bookings a
+    JOIN bookings b ON b.item_id = a.item_id AND b.id > a.id
+    WHERE a.status = 'APPROVED'
+      AND b.status = 'APPROVED'
+      AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date);
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Пересекающиеся подтверждённые бронирования (id/id): %. '
+            'Отклоните по одному бронированию из каждой пары и перезапустите сервер', conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlap;
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status = 'APPROVED');
@@ -0,0 +1,5 @@
+SELECT setval('users_seq', (SELECT coalesce(max(id), 0) FROM users) + 50, false);
+SELECT setval('requests_seq', (SELECT coalesce(max(id), 0) FROM requests) + 50, false);
+SELECT setval('items_seq', (SELECT coalesce(max(id), 0) FROM items) + 50, false);
+SELECT setval('comments_seq', (SELECT coalesce(max(id), 0) FROM comments) + 50, false);
+SELECT setval('bookings_seq', (SELECT coalesce(max(id), 0) FROM bookings) + 50, false);
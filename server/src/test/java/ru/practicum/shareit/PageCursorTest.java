@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class PageCursorTest {
+
+    @Test
+    void canEncodeAndDecode() {
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123456000), 42L);
+        Assertions.assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+
+        PageCursor idCursor = PageCursor.of(7L);
+        PageCursor decoded = PageCursor.decode(idCursor.encode());
+        Assertions.assertThat(decoded.getSortKey()).isNull();
+        Assertions.assertThat(decoded.getId()).isEqualTo(7L);
+        Assertions.assertThat(decoded.getRank()).isNull();
+
+        PageCursor rankCursor = PageCursor.ofRank(0.0607927f, 9L);
+        Assertions.assertThat(PageCursor.decode(rankCursor.encode())).isEqualTo(rankCursor);
+    }
+
+    @Test
+    void willThrowWhenCursorIsMalformed() {
+        Assertions.assertThatThrownBy(() -> PageCursor.decode("not a cursor"))
+                .isInstanceOf(ValidationException.class);
+        Assertions.assertThatThrownBy(() -> PageCursor.decode(PageCursor.of(1L).encode().substring(2)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void willSetNextCursorOnlyForFullPage() {
+        ResponseEntity<List<Long>> full = PageCursor.toResponse(List.of(1L, 2L), 2, PageCursor::of);
+        Assertions.assertThat(full.getHeaders().getFirst(PageCursor.NEXT_CURSOR_HEADER))
+                .isEqualTo(PageCursor.of(2L).encode());
+
+        ResponseEntity<List<Long>> last = PageCursor.toResponse(List.of(1L), 2, PageCursor::of);
+        Assertions.assertThat(last.getHeaders().containsKey(PageCursor.NEXT_CURSOR_HEADER)).isFalse();
+    }
+}
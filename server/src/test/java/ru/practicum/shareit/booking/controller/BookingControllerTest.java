@@ -12,6 +12,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.controller.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.controller.dto.BookingResponse;
@@ -29,11 +31,15 @@ import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -240,4 +246,63 @@ class BookingControllerTest {
         Assertions.assertThat(resultMap).containsExactlyInAnyOrderElementsOf(bookingResponseList);
     }
 
-}
\ No newline at end of file
+    @Test
+    void canGetAllByBookerWithCursor() throws Exception {
+        User booker = new User(1L, "Tod", "user@user.com");
+        User owner = new User(2L, "Bob", "user2@user.com");
+        Item item = new Item(1L, "Book", "Read book", true,
+                owner, null, Collections.EMPTY_LIST, null, null);
+        Booking booking = new Booking();
+        booking.setId(3L);
+        booking.setStartDate(LocalDateTime.of(2030, 1, 1, 12, 0));
+        booking.setEndDate(LocalDateTime.of(2030, 1, 2, 12, 0));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        PageCursor cursor = PageCursor.of(LocalDateTime.of(2030, 2, 1, 12, 0), 5L);
+
+        when(bookingService.findAllByBooker(anyLong(), any(), eq(cursor), eq(1))).thenReturn(List.of(booking));
+
+        mockMvc.perform(
+                        get("/bookings")
+                                .header(X_SHARER_USER_ID, booker.getId())
+                                .param("size", "1")
+                                .param("cursor", cursor.encode())
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER,
+                        PageCursor.of(booking.getStartDate(), booking.getId()).encode()));
+    }
+
+    @Test
+    void willReturnBadRequestWhenCursorIsMalformed() throws Exception {
+        mockMvc.perform(
+                        get("/bookings/owner")
+                                .header(X_SHARER_USER_ID, 1L)
+                                .param("cursor", "???")
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void canGetStatsByOwner() throws Exception {
+        Map<BookingState, Long> stats = new EnumMap<>(BookingState.class);
+        stats.put(BookingState.ALL, 20L);
+        stats.put(BookingState.CURRENT, 3L);
+        stats.put(BookingState.WAITING, 5L);
+        stats.put(BookingState.PAST, 12L);
+
+        when(bookingService.countByOwner(1L)).thenReturn(stats);
+
+        mockMvc.perform(
+                        get("/bookings/owner/stats")
+                                .header(X_SHARER_USER_ID, 1L)
+                                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ALL").value(20))
+                .andExpect(jsonPath("$.CURRENT").value(3))
+                .andExpect(jsonPath("$.WAITING").value(5))
+                .andExpect(jsonPath("$.PAST").value(12));
+    }
+
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.index;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+class IntervalTreeTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void canFindOverlappingInStartOrder() {
+        IntervalTree tree = new IntervalTree();
+        for (int i = 0; i < 100; i++) {
+            tree.put(i, DAY.plusDays(i), DAY.plusDays(i).plusHours(12));
+        }
+        tree.put(100, DAY.minusDays(1), DAY.plusDays(200));
+
+        Assertions.assertThat(tree.findOverlapping(DAY.plusDays(10).plusHours(13), DAY.plusDays(12)))
+                .containsExactly(
+                        new BookedInterval(DAY.minusDays(1), DAY.plusDays(200)),
+                        new BookedInterval(DAY.plusDays(11), DAY.plusDays(11).plusHours(12))
+                );
+    }
+
+    @Test
+    void willNotMatchTouchingIntervals() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, DAY, DAY.plusDays(1));
+
+        Assertions.assertThat(tree.findOverlapping(DAY.plusDays(1), DAY.plusDays(2))).isEmpty();
+        Assertions.assertThat(tree.findOverlapping(DAY.minusDays(1), DAY)).isEmpty();
+    }
+
+    @Test
+    void canRemoveInterval() {
+        IntervalTree tree = new IntervalTree();
+        tree.put(1, DAY, DAY.plusDays(1));
+        tree.put(2, DAY, DAY.plusDays(2));
+        tree.remove(1, DAY);
+
+        Assertions.assertThat(tree.findOverlapping(DAY, DAY.plusDays(3)))
+                .containsExactly(new BookedInterval(DAY, DAY.plusDays(2)));
+        tree.remove(2, DAY);
+        Assertions.assertThat(tree.isEmpty()).isTrue();
+    }
+
+    @Test
+    void canRemoveEndedIntervals() {
+        IntervalTree tree = new IntervalTree();
+        for (int i = 0; i < 50; i++) {
+            tree.put(i, DAY.plusDays(i), DAY.plusDays(i + 1));
+        }
+        tree.put(50, DAY.minusDays(1), DAY.plusDays(100));
+
+        Assertions.assertThat(tree.removeEndedBy(DAY.plusDays(40))).isFalse();
+        Assertions.assertThat(tree.findOverlapping(DAY.minusDays(10), DAY.plusDays(200)))
+                .hasSize(11)
+                .first()
+                .isEqualTo(new BookedInterval(DAY.minusDays(1), DAY.plusDays(100)));
+
+        Assertions.assertThat(tree.removeEndedBy(DAY.plusDays(100))).isTrue();
+        Assertions.assertThat(tree.isEmpty()).isTrue();
+    }
+}
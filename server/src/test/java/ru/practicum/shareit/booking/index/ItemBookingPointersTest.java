@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.index;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+class ItemBookingPointersTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void canFindLastAndNext() {
+        ItemBookingPointers pointers = new ItemBookingPointers();
+        pointers.put(1L, DAY.minusDays(3));
+        pointers.put(2L, DAY.minusDays(1));
+        pointers.put(3L, DAY.plusDays(1));
+        pointers.put(4L, DAY.plusDays(3));
+
+        Assertions.assertThat(pointers.getLastId(DAY)).isEqualTo(2L);
+        Assertions.assertThat(pointers.getNextId(DAY)).isEqualTo(3L);
+    }
+
+    @Test
+    void willRollForwardWhenBookingStarts() {
+        ItemBookingPointers pointers = new ItemBookingPointers();
+        pointers.put(1L, DAY.minusDays(1));
+        pointers.put(2L, DAY.plusDays(1));
+        pointers.put(3L, DAY.plusDays(3));
+
+        pointers.rollForward(DAY.plusDays(2));
+
+        Assertions.assertThat(pointers.getLastId(DAY.plusDays(2))).isEqualTo(2L);
+        Assertions.assertThat(pointers.getNextId(DAY.plusDays(2))).isEqualTo(3L);
+        Assertions.assertThat(pointers.getNextId(DAY.plusDays(4))).isNull();
+        Assertions.assertThat(pointers.getLastId(DAY.plusDays(4))).isEqualTo(3L);
+    }
+
+    @Test
+    void willKeepLaterLastWhenEarlierBookingIsApprovedLate() {
+        ItemBookingPointers pointers = new ItemBookingPointers();
+        pointers.put(2L, DAY.minusDays(1));
+        pointers.rollForward(DAY);
+        pointers.put(1L, DAY.minusDays(2));
+
+        Assertions.assertThat(pointers.getLastId(DAY)).isEqualTo(2L);
+        Assertions.assertThat(pointers.getNextId(DAY)).isNull();
+    }
+
+    @Test
+    void canRemoveBooking() {
+        ItemBookingPointers pointers = new ItemBookingPointers();
+        pointers.put(1L, DAY.plusDays(1));
+        pointers.remove(1L, DAY.plusDays(1));
+
+        Assertions.assertThat(pointers.getNextId(DAY)).isNull();
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
@@ -20,6 +21,8 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
 
 @ActiveProfiles("test")
@@ -88,4 +91,96 @@ class BookingRepositoryTest {
         Assertions.assertThat(bookingEntityList).containsExactlyInAnyOrder(bookingEntityFirst, bookingEntitySecond);
     }
 
-}
\ No newline at end of file
+    @Test
+    void canFindAllByBookerIdAndState() {
+        Pageable pageable = new OffsetPageable(0, 20, Sort.by(Sort.Direction.DESC, "startDate"));
+        LocalDateTime now = LocalDateTime.now();
+        Assertions.assertThat(bookingRepository.findAllByBookerIdAndStartDateAfter(booker.getId(), now, pageable))
+                .extracting(BookingEntity::getId)
+                .containsExactlyInAnyOrder(bookingEntityFirst.getId(), bookingEntitySecond.getId());
+        Assertions.assertThat(bookingRepository.findAllByBookerIdAndEndDateBefore(booker.getId(), now, pageable))
+                .isEmpty();
+        Assertions.assertThat(bookingRepository
+                        .findAllByBookerIdAndStartDateBeforeAndEndDateAfter(booker.getId(), now, now, pageable))
+                .isEmpty();
+        Assertions.assertThat(bookingRepository
+                        .findAllByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING, pageable))
+                .hasSize(2);
+        Assertions.assertThat(bookingRepository
+                        .findAllByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED, pageable))
+                .isEmpty();
+    }
+
+    @Test
+    void canFindAllByItemOwnerIdAndState() {
+        Pageable pageable = new OffsetPageable(0, 20, Sort.by(Sort.Direction.DESC, "startDate"));
+        LocalDateTime now = LocalDateTime.now();
+        Assertions.assertThat(bookingRepository.findAllByItemOwnerIdAndStartDateAfter(itemOwner.getId(), now, pageable))
+                .extracting(BookingEntity::getId)
+                .containsExactly(bookingEntityFirst.getId());
+        Assertions.assertThat(bookingRepository
+                        .findAllByItemOwnerIdAndStatus(itemOwner.getId(), BookingStatus.WAITING, pageable))
+                .extracting(BookingEntity::getId)
+                .containsExactly(bookingEntityFirst.getId());
+        Assertions.assertThat(bookingRepository.findAllByItemOwnerIdAndEndDateBefore(itemOwner.getId(), now, pageable))
+                .isEmpty();
+    }
+
+    @Test
+    void canFindAllByBookerIdAfterCursor() {
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "startDate", "id"));
+        BookingEntity first = bookingRepository.findAllByBookerId(booker.getId(), pageable).get(0);
+        List<BookingEntity> next = bookingRepository.findAllByBookerIdAfterCursor(booker.getId(),
+                EnumSet.allOf(BookingStatus.class),
+                LocalDateTime.of(1, 1, 1, 0, 0),
+                LocalDateTime.of(1, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 0, 0),
+                first.getStartDate(),
+                first.getId(),
+                pageable);
+        Assertions.assertThat(next).extracting(BookingEntity::getId)
+                .containsExactly(first.getId().equals(bookingEntityFirst.getId())
+                        ? bookingEntitySecond.getId()
+                        : bookingEntityFirst.getId());
+    }
+
+    @Test
+    void canFindOverlappingApprovedBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        BookingEntity approved = bookingRepository.save(new BookingEntity(null, start, start.plusHours(2),
+                itemEntityThird, booker, BookingStatus.APPROVED));
+
+        Assertions.assertThat(bookingRepository.existsOverlapping(itemEntityThird.getId(), BookingStatus.APPROVED,
+                start.plusHours(1), start.plusHours(3), null)).isTrue();
+        Assertions.assertThat(bookingRepository.existsOverlapping(itemEntityThird.getId(), BookingStatus.APPROVED,
+                start.plusHours(2), start.plusHours(3), null)).isFalse();
+        Assertions.assertThat(bookingRepository.existsOverlapping(itemEntityThird.getId(), BookingStatus.APPROVED,
+                start, start.plusHours(1), approved.getId())).isFalse();
+        Assertions.assertThat(bookingRepository.existsOverlapping(itemEntityFirst.getId(), BookingStatus.APPROVED,
+                start, start.plusHours(1), null)).isFalse();
+    }
+
+    @Test
+    void canCountByState() {
+        LocalDateTime now = LocalDateTime.now();
+        BookingRepository.BookingCounts bookerCounts = bookingRepository.countByBookerId(booker.getId(), now,
+                BookingStatus.WAITING, BookingStatus.REJECTED);
+        Assertions.assertThat(bookerCounts.getTotal()).isEqualTo(2);
+        Assertions.assertThat(bookerCounts.getFuture()).isEqualTo(2);
+        Assertions.assertThat(bookerCounts.getWaiting()).isEqualTo(2);
+        Assertions.assertThat(bookerCounts.getCurrent()).isZero();
+        Assertions.assertThat(bookerCounts.getPast()).isZero();
+        Assertions.assertThat(bookerCounts.getRejected()).isZero();
+
+        BookingRepository.BookingCounts ownerCounts = bookingRepository.countByItemOwnerId(itemOwner.getId(), now,
+                BookingStatus.WAITING, BookingStatus.REJECTED);
+        Assertions.assertThat(ownerCounts.getTotal()).isEqualTo(1);
+        Assertions.assertThat(ownerCounts.getWaiting()).isEqualTo(1);
+
+        BookingRepository.BookingCounts emptyCounts = bookingRepository.countByItemOwnerId(-1L, now,
+                BookingStatus.WAITING, BookingStatus.REJECTED);
+        Assertions.assertThat(emptyCounts.getTotal()).isZero();
+        Assertions.assertThat(emptyCounts.getFuture()).isZero();
+    }
+
+}
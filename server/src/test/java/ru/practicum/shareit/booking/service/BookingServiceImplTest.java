@@ -6,18 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.PageCursor;
 import ru.practicum.shareit.booking.BookingState;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.controller.dto.BookingCreateRequest;
 import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.LastNextBookingIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.mapper.LinkedBookingMapperImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.DataNotFoundException;
+import ru.practicum.shareit.exception.DuplicateException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.entity.ItemEntity;
 import ru.practicum.shareit.item.mapper.CommentMapperImpl;
@@ -36,6 +41,10 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -60,6 +69,12 @@ class BookingServiceImplTest {
     @MockBean
     BookingRepository bookingRepository;
 
+    @MockBean
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @MockBean
+    LastNextBookingIndex lastNextBookingIndex;
+
     @Autowired
     BookingService bookingService;
 
@@ -100,6 +115,27 @@ class BookingServiceImplTest {
         Assertions.assertThat(bookingCreateRequest.getEnd()).isEqualTo(booking.getEndDate());
     }
 
+    @Test
+    void willThrowWhenItemIsAlreadyBooked() {
+        BookingCreateRequest bookingCreateRequest = new BookingCreateRequest();
+        bookingCreateRequest.setItemId(1L);
+        bookingCreateRequest.setStart(LocalDateTime.now().plusMinutes(5));
+        bookingCreateRequest.setEnd(LocalDateTime.now().plusMinutes(10));
+
+        Item itemBook = new Item(1L, "Book", "Read book", true,
+                itemOwner, itemRequestBook, Collections.EMPTY_LIST, null, null);
+
+        when(userService.findById(anyLong())).thenReturn(bookerUser);
+        when(itemService.findById(anyLong(), anyLong())).thenReturn(itemBook);
+        when(bookingRepository.existsOverlapping(eq(1L), eq(BookingStatus.APPROVED), any(), any(), isNull()))
+                .thenReturn(true);
+
+        Assertions.assertThatThrownBy(
+                        () -> bookingService.create(bookingCreateRequest, bookerUser.getId()))
+                .isInstanceOf(DuplicateException.class);
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void willThrowWhenStartAfterEnd() {
         BookingCreateRequest bookingCreateRequest = new BookingCreateRequest();
@@ -189,6 +225,52 @@ class BookingServiceImplTest {
 
     }
 
+    @Test
+    void willThrowWhenApprovedBookingOverlaps() {
+        ItemEntity itemEntity = new ItemEntity(1L, "Book",
+                "Read book", true, itemOwner, null);
+        BookingEntity bookingEntity = new BookingEntity(1L, LocalDateTime.now().plusMinutes(5),
+                LocalDateTime.now().plusMinutes(10), itemEntity, bookerUser, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+        when(bookingRepository.existsOverlapping(eq(1L), eq(BookingStatus.APPROVED), any(), any(), eq(1L)))
+                .thenReturn(true);
+
+        Assertions.assertThatThrownBy(
+                        () -> bookingService.update(bookingEntity.getId(), itemOwner.getId(), true))
+                .isInstanceOf(DuplicateException.class);
+    }
+
+    @Test
+    void willThrowWhenExclusionConstraintIsViolated() {
+        ItemEntity itemEntity = new ItemEntity(1L, "Book",
+                "Read book", true, itemOwner, null);
+        BookingEntity bookingEntity = new BookingEntity(1L, LocalDateTime.now().plusMinutes(5),
+                LocalDateTime.now().plusMinutes(10), itemEntity, bookerUser, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+        when(bookingRepository.save(any())).thenThrow(new DataIntegrityViolationException("bookings_no_overlap"));
+
+        Assertions.assertThatThrownBy(
+                        () -> bookingService.update(bookingEntity.getId(), itemOwner.getId(), true))
+                .isInstanceOf(DuplicateException.class);
+    }
+
+    @Test
+    void willRethrowOtherIntegrityViolations() {
+        ItemEntity itemEntity = new ItemEntity(1L, "Book",
+                "Read book", true, itemOwner, null);
+        BookingEntity bookingEntity = new BookingEntity(1L, LocalDateTime.now().plusMinutes(5),
+                LocalDateTime.now().plusMinutes(10), itemEntity, bookerUser, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+        when(bookingRepository.save(any())).thenThrow(new DataIntegrityViolationException("bookings_item_id_fkey"));
+
+        Assertions.assertThatThrownBy(
+                        () -> bookingService.update(bookingEntity.getId(), itemOwner.getId(), true))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     void willThrowWhenUpdateStatusNotWaiting() {
         ItemEntity itemEntity = new ItemEntity(1L, "Book",
@@ -266,7 +348,7 @@ class BookingServiceImplTest {
         bookingEntity.setEndDate(LocalDateTime.now().minusSeconds(1));
 
         when(userService.findById(anyLong())).thenReturn(bookerUser);
-        when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(List.of(bookingEntity));
+        when(bookingRepository.findAllByBookerIdAndEndDateBefore(anyLong(), any(), any())).thenReturn(List.of(bookingEntity));
 
         List<Booking> bookingList = bookingService.findAllByBooker(bookerUser.getId(), BookingState.PAST, 0, 20);
         Assertions.assertThat(bookingList).isNotNull();
@@ -282,7 +364,7 @@ class BookingServiceImplTest {
         bookingEntity.setEndDate(LocalDateTime.now().plusMinutes(20));
 
         when(userService.findById(anyLong())).thenReturn(bookerUser);
-        when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(List.of(bookingEntity));
+        when(bookingRepository.findAllByBookerIdAndStartDateAfter(anyLong(), any(), any())).thenReturn(List.of(bookingEntity));
 
         List<Booking> bookingList = bookingService.findAllByBooker(bookerUser.getId(), BookingState.FUTURE, 0, 20);
         Assertions.assertThat(bookingList).isNotNull();
@@ -298,7 +380,7 @@ class BookingServiceImplTest {
         bookingEntity.setEndDate(LocalDateTime.now().plusMinutes(20));
 
         when(userService.findById(anyLong())).thenReturn(bookerUser);
-        when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(List.of(bookingEntity));
+        when(bookingRepository.findAllByBookerIdAndStartDateBeforeAndEndDateAfter(anyLong(), any(), any(), any())).thenReturn(List.of(bookingEntity));
 
         List<Booking> bookingList = bookingService.findAllByBooker(bookerUser.getId(), BookingState.CURRENT, 0, 20);
         Assertions.assertThat(bookingList).isNotNull();
@@ -314,11 +396,47 @@ class BookingServiceImplTest {
         bookingEntity.setEndDate(LocalDateTime.now().plusMinutes(20));
 
         when(userService.findById(anyLong())).thenReturn(bookerUser);
-        when(bookingRepository.findAllByBookerId(anyLong(), any())).thenReturn(List.of(bookingEntity));
+        when(bookingRepository.findAllByBookerIdAndStatus(anyLong(), any(), any())).thenReturn(List.of(bookingEntity));
 
         List<Booking> bookingList = bookingService.findAllByBooker(bookerUser.getId(), BookingState.WAITING, 0, 20);
         Assertions.assertThat(bookingList).isNotNull();
         Assertions.assertThat(bookingList.size()).isEqualTo(1);
         Assertions.assertThat(bookingList).extracting(Booking::getStatus).containsOnly(BookingStatus.WAITING);
     }
-}
\ No newline at end of file
+
+    @Test
+    void canFindAllByOwnerStateIsRejected() {
+        BookingEntity bookingEntity = new BookingEntity();
+        bookingEntity.setStatus(BookingStatus.REJECTED);
+        bookingEntity.setStartDate(LocalDateTime.now().plusMinutes(12));
+        bookingEntity.setEndDate(LocalDateTime.now().plusMinutes(20));
+
+        when(userService.findById(anyLong())).thenReturn(itemOwner);
+        when(bookingRepository.findAllByItemOwnerIdAndStatus(anyLong(), eq(BookingStatus.REJECTED), any()))
+                .thenReturn(List.of(bookingEntity));
+
+        List<Booking> bookingList = bookingService.findAllByOwner(itemOwner.getId(), BookingState.REJECTED, 0, 20);
+        Assertions.assertThat(bookingList).isNotNull();
+        Assertions.assertThat(bookingList.size()).isEqualTo(1);
+        Assertions.assertThat(bookingList).extracting(Booking::getStatus).containsOnly(BookingStatus.REJECTED);
+    }
+
+    @Test
+    void canFindAllByBookerAfterCursor() {
+        BookingEntity bookingEntity = new BookingEntity();
+        bookingEntity.setStatus(BookingStatus.WAITING);
+        bookingEntity.setStartDate(LocalDateTime.now().plusMinutes(12));
+        bookingEntity.setEndDate(LocalDateTime.now().plusMinutes(20));
+        PageCursor cursor = PageCursor.of(LocalDateTime.now().plusMinutes(30), 10L);
+
+        when(userService.findById(anyLong())).thenReturn(bookerUser);
+        when(bookingRepository.findAllByBookerIdAfterCursor(anyLong(), any(), any(), any(), any(),
+                eq(cursor.getSortKey()), eq(cursor.getId()), any())).thenReturn(List.of(bookingEntity));
+
+        List<Booking> bookingList = bookingService.findAllByBooker(bookerUser.getId(), BookingState.FUTURE, cursor, 20);
+        Assertions.assertThat(bookingList).extracting(Booking::getStatus).containsOnly(BookingStatus.WAITING);
+        Assertions.assertThatThrownBy(
+                        () -> bookingService.findAllByOwner(itemOwner.getId(), BookingState.ALL, PageCursor.of(1L), 20))
+                .isInstanceOf(ValidationException.class);
+    }
+}
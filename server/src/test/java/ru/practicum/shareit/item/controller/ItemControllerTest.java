@@ -19,9 +19,13 @@ import ru.practicum.shareit.exception.DataNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.exception.GlobalExceptionHandler;
 import ru.practicum.shareit.item.controller.dto.*;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImportService;
 import ru.practicum.shareit.item.mapper.*;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.FreeSlot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportReport;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
@@ -32,6 +36,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -53,6 +58,9 @@ class ItemControllerTest {
     @MockBean
     ItemService itemService;
 
+    @MockBean
+    ItemImportService itemImportService;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -168,6 +176,47 @@ class ItemControllerTest {
         Assertions.assertThat(resultMap).containsExactlyInAnyOrderElementsOf(itemResponseList);
     }
 
+    @Test
+    void canGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(itemService.findFreeSlots(eq(1L), eq(from), eq(to)))
+                .thenReturn(List.of(new FreeSlot(from, from.plusDays(1))));
+        MvcResult result = mockMvc.perform(
+                get("/items/1/availability")
+                        .header(X_SHARER_USER_ID, 1L)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<FreeSlotResponse> slots = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        Assertions.assertThat(slots).hasSize(1);
+        Assertions.assertThat(slots.get(0).getStart()).isEqualTo(from);
+        Assertions.assertThat(slots.get(0).getEnd()).isEqualTo(from.plusDays(1));
+    }
+
+    @Test
+    void canImportCsv() throws Exception {
+        ItemImportReport report = new ItemImportReport();
+        report.addImported(2, 10L);
+        report.addFailed(3, "не указано описание");
+        when(itemImportService.importItems(eq(1L), eq(ItemImportFormat.CSV), any())).thenReturn(report);
+        MvcResult result = mockMvc.perform(
+                post("/items/import")
+                        .header(X_SHARER_USER_ID, 1L)
+                        .contentType("text/csv")
+                        .content("name,description,available\nBook,Read,true\nPen,,true\n"))
+                .andExpect(status().isOk())
+                .andReturn();
+        ItemImportResponse response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                ItemImportResponse.class);
+        Assertions.assertThat(response.getImported()).isEqualTo(1);
+        Assertions.assertThat(response.getFailed()).isEqualTo(1);
+        Assertions.assertThat(response.getRows()).extracting(ItemImportRowResponse::getItemId)
+                .containsExactly(10L, null);
+    }
+
     @Test
     void canCreate() throws Exception {
         User itemOwner = new User(1L, "Tod", "user@user.com");
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.importer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+import ru.practicum.shareit.item.model.ItemImportReport;
+import ru.practicum.shareit.item.model.ItemImportRow;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {JacksonAutoConfiguration.class, ItemImportServiceImpl.class})
+class ItemImportServiceImplTest {
+
+    @MockBean
+    UserService userService;
+
+    @MockBean
+    ItemService itemService;
+
+    @Autowired
+    ItemImportService itemImportService;
+
+    User itemOwner = new User(1L, "Tod", "user@user.com");
+
+    AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        when(userService.findById(anyLong())).thenReturn(itemOwner);
+        when(itemService.saveAll(any(), any())).thenAnswer(invocation -> {
+            List<ItemCreateRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> ids.incrementAndGet())
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void canImportJsonLines() {
+        String body = "{\"name\":\"Book\",\"description\":\"Read book\",\"available\":true}\n" +
+                "\n" +
+                "{\"name\":\"Pen\"\n" +
+                "{\"name\":\"\",\"description\":\"Empty\",\"available\":true}\n" +
+                "{\"name\":\"Disc\",\"description\":\"Play disc\",\"available\":false,\"requestId\":3}\n";
+
+        ItemImportReport report = importItems(ItemImportFormat.JSONL, body);
+
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getFailed()).isEqualTo(2);
+        Assertions.assertThat(report.getRows()).extracting(ItemImportRow::getLine).containsExactly(1L, 3L, 4L, 5L);
+        Assertions.assertThat(report.getRows()).extracting(ItemImportRow::getItemId).containsExactly(1L, null, null, 2L);
+    }
+
+    @Test
+    void canImportQuotedCsv() {
+        String body = "name,description,available,requestId\r\n" +
+                "Book,\"Read, then \"\"return\"\"\",true,\r\n" +
+                "Pen,\"Blue\nink\",false,7\n" +
+                "Disc,Play disc,maybe,\n";
+
+        ItemImportReport report = importItems(ItemImportFormat.CSV, body);
+
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getRows()).extracting(ItemImportRow::getLine).containsExactly(2L, 3L, 5L);
+        Assertions.assertThat(report.getRows().get(2).getError()).isNotNull();
+    }
+
+    @Test
+    void willRejectCsvWithoutRequiredColumns() {
+        Assertions.assertThatThrownBy(() -> importItems(ItemImportFormat.CSV, "name,available\nBook,true\n"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void willSaveInBatches() {
+        String row = "{\"name\":\"Book\",\"description\":\"Read book\",\"available\":true}\n";
+
+        ItemImportReport report = importItems(ItemImportFormat.JSONL, row.repeat(ItemImportServiceImpl.BATCH_SIZE + 1));
+
+        Assertions.assertThat(report.getImported()).isEqualTo(ItemImportServiceImpl.BATCH_SIZE + 1);
+        verify(itemService, times(2)).saveAll(any(), any());
+        verify(userService, times(1)).findById(anyLong());
+    }
+
+    @Test
+    void willReportFailedBatch() {
+        doThrow(new DataIntegrityViolationException("broken")).when(itemService).saveAll(any(), any());
+
+        ItemImportReport report = importItems(ItemImportFormat.JSONL,
+                "{\"name\":\"Book\",\"description\":\"Read book\",\"available\":true}\n");
+
+        Assertions.assertThat(report.getImported()).isZero();
+        Assertions.assertThat(report.getFailed()).isEqualTo(1);
+    }
+
+    private ItemImportReport importItems(ItemImportFormat format, String body) {
+        return itemImportService.importItems(itemOwner.getId(), format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
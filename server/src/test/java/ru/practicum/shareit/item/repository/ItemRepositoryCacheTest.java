@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.repository;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class ItemRepositoryCacheTest {
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void willServeOwnerItemsFromSecondLevelCache() {
+        User owner = userRepository.save(new User(null, "Cache", "cache@user.com"));
+        ItemEntity item = itemRepository.save(new ItemEntity(null, "Umbrella", "Black umbrella", true, owner, null));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+
+        itemRepository.findAllByOwnerId(owner.getId(), pageable);
+        List<ItemEntity> items = itemRepository.findAllByOwnerId(owner.getId(), pageable);
+
+        Assertions.assertThat(items).extracting(ItemEntity::getId).containsExactly(item.getId());
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(itemRepository.findById(item.getId())).isPresent();
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item.repository;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.search.PostgresItemSearch;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "shareit.search.engine=postgres")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresItemSearch.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ItemRepositoryPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+    }
+
+    @Autowired
+    ItemSearch itemSearch;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        User owner = entityManager.persist(new User(null, "Tod", "user@user.com"));
+        entityManager.persist(new ItemEntity(null, "Shelf", "For notebooks", true, owner, null));
+        entityManager.persist(new ItemEntity(null, "Book", "Book about books", true, owner, null));
+        entityManager.persist(new ItemEntity(null, "Notebook", "Paper", true, owner, null));
+        entityManager.persist(new ItemEntity(null, "Old book", "Cheap", true, owner, null));
+        entityManager.persist(new ItemEntity(null, "Book", "Book about books", true, owner, null));
+        entityManager.persist(new ItemEntity(null, "Book", "Hidden", false, owner, null));
+        entityManager.persist(new ItemEntity(null, "Book", "Read it", true, owner, null));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void cursorPagesFollowRankOrder() {
+        List<Long> ranked = ids(itemSearch.search("book", 0, 100));
+        Assertions.assertThat(ranked).hasSize(6).isNotEqualTo(ranked.stream().sorted().collect(Collectors.toList()));
+
+        List<Long> paged = new ArrayList<>(ids(itemSearch.search("book", 0, 2)));
+        List<Long> page;
+        do {
+            PageCursor cursor = PageCursor.decode(itemSearch.cursorOf("book", paged.get(paged.size() - 1)).encode());
+            page = ids(itemSearch.searchAfter("book", cursor, 2));
+            paged.addAll(page);
+        } while (!page.isEmpty());
+
+        Assertions.assertThat(paged).containsExactlyElementsOf(ranked);
+    }
+
+    @Test
+    void cursorSurvivesChangesOfLastItem() {
+        List<Long> ranked = ids(itemSearch.search("book", 0, 100));
+        Long last = ranked.get(1);
+        PageCursor cursor = itemSearch.cursorOf("book", last);
+
+        entityManager.getEntityManager().createQuery("delete from ItemEntity i where i.id = :id")
+                .setParameter("id", last)
+                .executeUpdate();
+        entityManager.clear();
+
+        Assertions.assertThat(ids(itemSearch.searchAfter("book", cursor, 100)))
+                .containsExactlyElementsOf(ranked.subList(2, ranked.size()));
+    }
+
+    private static List<Long> ids(List<ItemEntity> items) {
+        return items.stream().map(ItemEntity::getId).collect(Collectors.toList());
+    }
+}
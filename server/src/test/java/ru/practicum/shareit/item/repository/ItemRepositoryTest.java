@@ -10,6 +10,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.OffsetPageable;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.entity.ItemEntity;
 import ru.practicum.shareit.request.entity.ItemRequestEntity;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -33,6 +36,9 @@ class ItemRepositoryTest {
     @Autowired
     ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    BookingRepository bookingRepository;
+
     static User itemOwner;
 
     static User itemRequestor;
@@ -80,6 +86,30 @@ class ItemRepositoryTest {
         Assertions.assertThat(itemEntityList).containsExactlyInAnyOrder(itemEntityFirst);
     }
 
+    @Test
+    void canFindAllByNameOrDescriptionAndFreeBetween() {
+        Pageable pageable = new OffsetPageable(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        bookingRepository.save(new BookingEntity(null, start, start.plusDays(2),
+                itemEntityFirst, itemRequestor, BookingStatus.APPROVED));
+        bookingRepository.save(new BookingEntity(null, start, start.plusDays(2),
+                itemEntityThird, itemRequestor, BookingStatus.REJECTED));
+
+        Assertions.assertThat(itemRepository.findAllByNameOrDescriptionAndFreeBetween("a",
+                        BookingStatus.APPROVED, start.plusDays(1), start.plusDays(3), pageable))
+                .extracting(ItemEntity::getId)
+                .containsExactly(itemEntityThird.getId());
+        Assertions.assertThat(itemRepository.findAllByNameOrDescriptionAndFreeBetween("a",
+                        BookingStatus.APPROVED, start.plusDays(2), start.plusDays(3), pageable))
+                .extracting(ItemEntity::getId)
+                .containsExactly(itemEntityFirst.getId(), itemEntityThird.getId());
+        Assertions.assertThat(itemRepository.findAllByNameOrDescriptionAndFreeBetweenAndIdGreaterThan("a",
+                        BookingStatus.APPROVED, start.plusDays(2), start.plusDays(3), itemEntityFirst.getId(),
+                        pageable))
+                .extracting(ItemEntity::getId)
+                .containsExactly(itemEntityThird.getId());
+    }
+
     @Test
     void canFindAllByRequestIdIn() {
 
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = InMemoryItemSearch.class)
+@TestPropertySource(properties = "shareit.search.engine=memory")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class InMemoryItemSearchTest {
+
+    @MockBean
+    ItemRepository itemRepository;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ItemSearch itemSearch;
+
+    User owner = new User(1L, "Tod", "user@user.com");
+
+    @Test
+    void willMatchWordPrefixesOfAllQueryWords() {
+        ItemEntity drill = new ItemEntity(1L, "Дрель", "Аккумуляторная дрель", true, owner, null);
+        ItemEntity screwdriver = new ItemEntity(2L, "Шуруповерт", "Аккумуляторный", true, owner, null);
+        ItemEntity saw = new ItemEntity(3L, "Пила", "Ручная", true, owner, null);
+        itemSearch.index(drill);
+        itemSearch.index(screwdriver);
+        itemSearch.index(saw);
+
+        when(itemRepository.findAllByIdIn(List.of(1L, 2L))).thenReturn(List.of(screwdriver, drill));
+        Assertions.assertThat(itemSearch.search("АККУМ", 0, 20)).containsExactly(drill, screwdriver);
+
+        when(itemRepository.findAllByIdIn(List.of(1L))).thenReturn(List.of(drill));
+        Assertions.assertThat(itemSearch.search("аккумуляторная дрель", 0, 20)).containsExactly(drill);
+    }
+
+    @Test
+    void willPageBySliceOfPostings() {
+        for (long id = 1; id <= 5; id++) {
+            itemSearch.index(new ItemEntity(id, "Book " + id, "Read", true, owner, null));
+        }
+        ItemEntity third = new ItemEntity(3L, "Book 3", "Read", true, owner, null);
+        ItemEntity fourth = new ItemEntity(4L, "Book 4", "Read", true, owner, null);
+        when(itemRepository.findAllByIdIn(List.of(3L, 4L))).thenReturn(List.of(third, fourth));
+
+        Assertions.assertThat(itemSearch.search("book", 2, 2)).containsExactly(third, fourth);
+        Assertions.assertThat(itemSearch.searchAfter("book", PageCursor.of(2L), 2)).containsExactly(third, fourth);
+    }
+
+    @Test
+    void willDropItemWhenUnavailableOrRenamed() {
+        ItemEntity item = new ItemEntity(1L, "Book", "Read", true, owner, null);
+        itemSearch.index(item);
+        itemSearch.index(new ItemEntity(1L, "Shelf", "Read", true, owner, null));
+        Assertions.assertThat(itemSearch.search("book", 0, 20)).isEmpty();
+
+        itemSearch.index(new ItemEntity(1L, "Shelf", "Read", false, owner, null));
+        Assertions.assertThat(itemSearch.search("shelf", 0, 20)).isEmpty();
+        verify(itemRepository, never()).findAllByIdIn(any());
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.PageCursor;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = PostgresItemSearch.class)
+@TestPropertySource(properties = "shareit.search.engine=postgres")
+class PostgresItemSearchTest {
+
+    @MockBean
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemSearch itemSearch;
+
+    @Test
+    void willKeepRankOrder() {
+        User owner = new User(1L, "Tod", "user@user.com");
+        ItemEntity book = new ItemEntity(1L, "Book", "Read book", true, owner, null);
+        ItemEntity notebook = new ItemEntity(2L, "Notebook", "Write notes", true, owner, null);
+        ItemEntity bookshelf = new ItemEntity(3L, "Shelf", "For books", true, owner, null);
+
+        when(itemRepository.findIdsByFullText(eq("book"), eq(0), eq(20)))
+                .thenReturn(List.of(BigInteger.valueOf(3), BigInteger.valueOf(1), BigInteger.valueOf(2)));
+        when(itemRepository.findAllByIdIn(any())).thenReturn(List.of(book, notebook, bookshelf));
+
+        Assertions.assertThat(itemSearch.search("book", 0, 20)).containsExactly(bookshelf, book, notebook);
+    }
+
+    @Test
+    void willNotLoadItemsWhenNothingFound() {
+        when(itemRepository.findIdsByFullTextAfter(any(), any(), anyLong(), anyInt())).thenReturn(List.of());
+
+        Assertions.assertThat(itemSearch.searchAfter("book", PageCursor.ofRank(0.1f, 10L), 20)).isEmpty();
+        verify(itemRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    void willContinueFromRankInCursor() {
+        when(itemRepository.findSearchRank("book", 3L)).thenReturn(0.0607927f);
+        when(itemRepository.findIdsByFullTextAfter(any(), any(), anyLong(), anyInt())).thenReturn(List.of());
+
+        PageCursor cursor = PageCursor.decode(itemSearch.cursorOf("book", 3L).encode());
+        itemSearch.searchAfter("book", cursor, 20);
+
+        verify(itemRepository).findIdsByFullTextAfter("book", 0.0607927f, 3L, 20);
+    }
+
+    @Test
+    void willRejectCursorWithoutRank() {
+        Assertions.assertThatThrownBy(() -> itemSearch.searchAfter("book", PageCursor.of(3L), 20))
+                .isInstanceOf(ValidationException.class);
+    }
+}
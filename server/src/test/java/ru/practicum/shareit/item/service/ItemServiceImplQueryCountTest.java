@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.service;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.LastNextBookingIndex;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.mapper.LinkedBookingMapperImpl;
+import ru.practicum.shareit.item.entity.CommentEntity;
+import ru.practicum.shareit.item.controller.dto.ItemCreateRequest;
+import ru.practicum.shareit.item.entity.ItemEntity;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.CommentResponseMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearch;
+import ru.practicum.shareit.request.entity.ItemRequestEntity;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+        ItemMapperImpl.class,
+        CommentMapperImpl.class,
+        BookingMapperImpl.class,
+        CommentResponseMapperImpl.class,
+        LinkedBookingMapperImpl.class,
+        LikeItemSearch.class,
+        LastNextBookingIndex.class,
+        ItemServiceImpl.class
+})
+class ItemServiceImplQueryCountTest {
+
+    @MockBean
+    UserService userService;
+
+    @MockBean
+    ItemRequestService itemRequestService;
+
+    @MockBean
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    LastNextBookingIndex lastNextBookingIndex;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    User itemOwner;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        itemOwner = entityManager.persist(new User(null, "Tod", "user@user.com"));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 20; i++) {
+            User booker = entityManager.persist(new User(null, "Bob" + i, "user" + i + "@user.com"));
+            ItemRequestEntity request = entityManager.persist(
+                    new ItemRequestEntity(null, "Request " + i, booker, now.minusDays(5)));
+            ItemEntity item = entityManager.persist(
+                    new ItemEntity(null, "Item " + i, "Description " + i, true, itemOwner, request));
+            entityManager.persist(new CommentEntity(null, "Good", item, booker, now.minusDays(1)));
+            entityManager.persist(new CommentEntity(null, "Fine", item, booker, now.minusHours(1)));
+            entityManager.persist(new BookingEntity(null, now.minusDays(3), now.minusDays(2),
+                    item, booker, BookingStatus.APPROVED));
+            entityManager.persist(new BookingEntity(null, now.plusDays(2), now.plusDays(3),
+                    item, booker, BookingStatus.APPROVED));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        lastNextBookingIndex.afterSingletonsInstantiated();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @Test
+    void findAllByOwnerIdUsesConstantNumberOfQueries() {
+        long smallPageQueries = countQueries(() -> itemService.findAllByOwnerId(itemOwner.getId(), 0, 2));
+        long largePageQueries = countQueries(() -> itemService.findAllByOwnerId(itemOwner.getId(), 0, 20));
+
+        Assertions.assertThat(largePageQueries).isEqualTo(smallPageQueries);
+        Assertions.assertThat(largePageQueries).isLessThanOrEqualTo(4);
+
+        List<Item> items = itemService.findAllByOwnerId(itemOwner.getId(), 0, 20);
+        Assertions.assertThat(items).hasSize(20);
+        Assertions.assertThat(items).allSatisfy(item -> {
+            Assertions.assertThat(item.getComments()).hasSize(2);
+            Assertions.assertThat(item.getLastBooking()).isNotNull();
+            Assertions.assertThat(item.getNextBooking()).isNotNull();
+            Assertions.assertThat(item.getLastBooking().getStartDate())
+                    .isBefore(item.getNextBooking().getStartDate());
+        });
+    }
+
+    @Test
+    void searchUsesConstantNumberOfQueries() {
+        long smallPageQueries = countQueries(() -> itemService.search("item", itemOwner.getId(), 0, 2));
+        long largePageQueries = countQueries(() -> itemService.search("item", itemOwner.getId(), 0, 20));
+
+        Assertions.assertThat(largePageQueries).isEqualTo(smallPageQueries);
+    }
+
+    @Test
+    void createAllBatchesInserts() {
+        Mockito.when(userService.findById(itemOwner.getId())).thenReturn(itemOwner);
+
+        long smallBatchQueries = countQueries(() -> {
+            itemService.createAll(itemCreateRequests(2), itemOwner.getId());
+            entityManager.flush();
+        });
+        long largeBatchQueries = countQueries(() -> {
+            itemService.createAll(itemCreateRequests(40), itemOwner.getId());
+            entityManager.flush();
+        });
+
+        // the larger batch may cross into the next pooled block of 50 ids and fetch the sequence once more
+        Assertions.assertThat(largeBatchQueries).isLessThanOrEqualTo(smallBatchQueries + 1);
+    }
+
+    private List<ItemCreateRequest> itemCreateRequests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new ItemCreateRequest("Bulk " + i, "Imported " + i, true, null))
+                .collect(Collectors.toList());
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -10,6 +10,9 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.entity.BookingEntity;
+import ru.practicum.shareit.booking.index.BookedInterval;
+import ru.practicum.shareit.booking.index.BookingIntervalIndex;
+import ru.practicum.shareit.booking.index.LastNextBookingIndex;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.booking.mapper.LinkedBookingMapperImpl;
@@ -23,7 +26,9 @@ import ru.practicum.shareit.item.entity.CommentEntity;
 import ru.practicum.shareit.item.entity.ItemEntity;
 import ru.practicum.shareit.item.mapper.*;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.FreeSlot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearch;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.entity.ItemRequestEntity;
@@ -39,6 +44,9 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -49,6 +57,7 @@ import static org.mockito.Mockito.when;
                 BookingMapperImpl.class,
                 CommentResponseMapperImpl.class,
                 LinkedBookingMapperImpl.class,
+                LikeItemSearch.class,
                 ItemServiceImpl.class
         }
 )
@@ -68,6 +77,12 @@ class ItemServiceImplTest {
     @MockBean
     ItemRequestService itemRequestService;
 
+    @MockBean
+    BookingIntervalIndex bookingIntervalIndex;
+
+    @MockBean
+    LastNextBookingIndex lastNextBookingIndex;
+
     @Autowired
     ItemMapper itemMapper;
 
@@ -110,6 +125,38 @@ class ItemServiceImplTest {
         Assertions.assertThat(itemCreateRequest.getRequestId()).isEqualTo(item.getRequest().getId());
     }
 
+    @Test
+    void canCreateAllItems() {
+        ItemRequest itemRequest = new ItemRequest(1L, "Create Book", LocalDateTime.now(), null);
+        List<ItemCreateRequest> itemCreateRequests = List.of(
+                new ItemCreateRequest("Book", "Read book", true, 1L),
+                new ItemCreateRequest("Pen", "Write", true, 1L),
+                new ItemCreateRequest("Disc", "Play disc", false, null)
+        );
+
+        when(userService.findById(anyLong())).thenReturn(itemOwner);
+        when(itemRequestService.findOptionalById(1L)).thenReturn(Optional.of(itemRequest));
+
+        List<Item> items = itemService.createAll(itemCreateRequests, itemOwner.getId());
+        Assertions.assertThat(items).extracting(Item::getName).containsExactly("Book", "Pen", "Disc");
+        Assertions.assertThat(items).extracting(Item::getOwner).containsOnly(itemOwner);
+        Assertions.assertThat(items.get(2).getRequest()).isNull();
+        Assertions.assertThat(items).allSatisfy(item -> Assertions.assertThat(item.getComments()).isEmpty());
+        verify(itemRequestService, times(1)).findOptionalById(1L);
+        verify(itemRepository, times(1)).saveAll(any());
+        verify(commentRepository, never()).findAllByItemIdIn(any());
+    }
+
+    @Test
+    void willNotCreateTooManyItemsAtOnce() {
+        List<ItemCreateRequest> itemCreateRequests = Collections.nCopies(ItemServiceImpl.MAX_BULK_SIZE + 1,
+                new ItemCreateRequest("Book", "Read book", true, null));
+
+        Assertions.assertThatThrownBy(() -> itemService.createAll(itemCreateRequests, itemOwner.getId()))
+                .isInstanceOf(ValidationException.class);
+        verify(itemRepository, never()).saveAll(any());
+    }
+
     @Test
     void willThrowWhenItemNotFound() {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -124,13 +171,10 @@ class ItemServiceImplTest {
                 "Read book", true, itemOwner, null);
         CommentEntity commentEntity = new CommentEntity(1L, "Good",
                 itemEntity, itemRequestor, LocalDateTime.now());
-        BookingEntity bookingEntity = new BookingEntity();
         Item origionItem = itemMapper.toItem(itemEntity);
         origionItem.setComments(commentMapper.toComment(List.of(commentEntity)));
         when(commentRepository.findCommentByItemId(anyLong())).thenReturn(List.of(commentEntity));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(itemEntity));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(anyLong(),any(),any()))
-                .thenReturn(Optional.of(bookingEntity));
         Item itemRes = itemService.findById(itemEntity.getId(), itemRequestor.getId());
         Assertions.assertThat(itemRes).isEqualTo(origionItem);
     }
@@ -143,18 +187,17 @@ class ItemServiceImplTest {
                 itemEntity, itemRequestor, LocalDateTime.now());
         BookingEntity bookingEntityLast = new BookingEntity(1L, LocalDateTime.now().minusSeconds(30),
                 LocalDateTime.now(), itemEntity, itemRequestor, BookingStatus.APPROVED);
-        BookingEntity bookingEntityNext = new BookingEntity(2L, LocalDateTime.now().minusSeconds(10),
-                LocalDateTime.now(), itemEntity, itemRequestor, BookingStatus.APPROVED);
+        BookingEntity bookingEntityNext = new BookingEntity(2L, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), itemEntity, itemRequestor, BookingStatus.APPROVED);
         Item origionItem = itemMapper.toItem(itemEntity);
         origionItem.setLastBooking(bookingMapper.toBooking(bookingEntityLast));
         origionItem.setNextBooking(bookingMapper.toBooking(bookingEntityNext));
         origionItem.setComments(commentMapper.toComment(List.of(commentEntity)));
         when(commentRepository.findCommentByItemId(anyLong())).thenReturn(List.of(commentEntity));
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(itemEntity));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartDateBeforeOrderByStartDateDesc(anyLong(),any(),any()))
-                .thenReturn(Optional.of(bookingEntityLast));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartDateAfterOrderByStartDate(anyLong(),any(),any()))
-                .thenReturn(Optional.of(bookingEntityNext));
+        when(lastNextBookingIndex.findLastAndNextIds(any(), any())).thenReturn(List.of(1L, 2L));
+        when(bookingRepository.findAllWithItemAndBookerByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(bookingEntityLast, bookingEntityNext));
         Item itemRes = itemService.findById(itemEntity.getId(), itemOwner.getId());
         Assertions.assertThat(itemRes).isEqualTo(origionItem);
     }
@@ -293,4 +336,68 @@ class ItemServiceImplTest {
                 .isInstanceOf(DataNotFoundException.class);
     }
 
+    @Test
+    void willThrowWhenSearchFreeWindowIsIncomplete() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Assertions.assertThatThrownBy(
+                        () -> itemService.searchFree("book", itemOwner.getId(), start, null, 0, 20))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void canSearchFree() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        ItemEntity itemEntity = new ItemEntity(1L, "Book", "Read book", true, itemOwner, null);
+        when(itemRepository.findAllByNameOrDescriptionAndFreeBetween(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(itemEntity));
+        Assertions.assertThat(itemService.searchFree("book", itemRequestor.getId(), start, start.plusDays(1), 0, 20))
+                .extracting(Item::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void canFindFreeSlots() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingIntervalIndex.findBusy(1L, from, to)).thenReturn(List.of(
+                new BookedInterval(from.minusDays(1), from.plusDays(1)),
+                new BookedInterval(from.plusDays(3), from.plusDays(5)),
+                new BookedInterval(from.plusDays(4), from.plusDays(6))
+        ));
+
+        Assertions.assertThat(itemService.findFreeSlots(1L, from, to)).containsExactly(
+                new FreeSlot(from.plusDays(1), from.plusDays(3)),
+                new FreeSlot(from.plusDays(6), to)
+        );
+    }
+
+    @Test
+    void willNotReportPastAsFree() {
+        LocalDateTime from = LocalDateTime.now().minusDays(10);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        Assertions.assertThat(itemService.findFreeSlots(1L, from, from.plusDays(5))).isEmpty();
+        Assertions.assertThat(itemService.findFreeSlots(1L, from, from.plusDays(20)))
+                .singleElement()
+                .satisfies(slot -> Assertions.assertThat(slot.getStart()).isAfter(from.plusDays(9)));
+    }
+
+    @Test
+    void willThrowWhenFreeSlotsWindowIsEmpty() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        Assertions.assertThatThrownBy(
+                        () -> itemService.findFreeSlots(1L, from, from))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void willThrowWhenFreeSlotsItemNotFound() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.existsById(1L)).thenReturn(false);
+        Assertions.assertThatThrownBy(
+                        () -> itemService.findFreeSlots(1L, from, from.plusDays(1)))
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+class NPlusOneDetectionFilterTest {
+
+    @Test
+    void countsRequestOnceForSeveralRepeatedStatements() throws Exception {
+        RequestStatementCounter statementCounter = new RequestStatementCounter();
+        Counter detected = new SimpleMeterRegistry().counter("shareit.jpa.n_plus_one");
+        NPlusOneDetectionFilter filter = new NPlusOneDetectionFilter(statementCounter, 3, detected);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                for (int i = 0; i < 5; i++) {
+                    statementCounter.inspect("select * from comments where item_id = ?");
+                    statementCounter.inspect("select * from bookings where item_id = ?");
+                }
+                statementCounter.inspect("select * from items where owner_id = ?");
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(),
+                new MockFilterChain(new HttpServlet() {
+                }));
+
+        Assertions.assertThat(detected.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Map;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({MetricsConfig.class, SimpleMeterRegistry.class})
+class QueryMetricsTest {
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    RequestStatementCounter statementCounter;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Test
+    void recordsExecutedQueries() {
+        entityManager.persist(new User(null, "Tod", "user@user.com"));
+        entityManager.persist(new User(null, "Bob", "bob@user.com"));
+
+        Assertions.assertThat(userRepository.findAll()).hasSize(2);
+
+        Assertions.assertThat(registry.find("shareit.jpa.query").timers())
+                .anySatisfy(timer -> Assertions.assertThat(timer.count()).isEqualTo(1));
+        Assertions.assertThat(registry.find("shareit.jpa.query.rows").summaries())
+                .anySatisfy(summary -> Assertions.assertThat(summary.totalAmount()).isEqualTo(2));
+        Assertions.assertThat(registry.find("shareit.jpa.query").timers())
+                .allSatisfy(timer -> Assertions.assertThat(timer.getId().getTag("query")).matches("q[0-9a-f]{12}"));
+    }
+
+    @Test
+    void tagsQueriesWithStableIds() {
+        QueryStatisticsFactory factory = new QueryStatisticsFactory(registry);
+        String id = new QueryStatisticsFactory(registry).queryId("select u from User u where u.id in (:ids_0)");
+
+        Assertions.assertThat(factory.queryId("select u from User u where u.id in (:ids_0, :ids_1, :ids_2)"))
+                .isEqualTo(id);
+        Assertions.assertThat(factory.queryId("select u from User u")).isNotEqualTo(id);
+    }
+
+    @Test
+    void countsRepeatedStatements() {
+        Long firstId = entityManager.persist(new User(null, "Tod", "user@user.com")).getId();
+        Long secondId = entityManager.persist(new User(null, "Bob", "bob@user.com")).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        statementCounter.start();
+        entityManager.find(User.class, firstId);
+        entityManager.find(User.class, secondId);
+        Map<String, Integer> counts = statementCounter.finish();
+
+        Assertions.assertThat(counts).containsValue(2);
+        Assertions.assertThat(statementCounter.finish()).isEmpty();
+    }
+
+    @Test
+    void countsOnlySelects() {
+        statementCounter.start();
+        for (int i = 0; i < 60; i++) {
+            entityManager.persist(new User(null, "User " + i, "user" + i + "@user.com"));
+        }
+        entityManager.flush();
+        statementCounter.inspect("select nextval ('users_seq')");
+        statementCounter.inspect("update users set name=? where id=?");
+        statementCounter.inspect("  SELECT * from users where id=?");
+        Map<String, Integer> counts = statementCounter.finish();
+
+        Assertions.assertThat(counts).containsOnlyKeys("  SELECT * from users where id=?");
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.user.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {UserServiceImplCacheTest.CacheConfig.class, UserServiceImpl.class})
+class UserServiceImplCacheTest {
+
+    @Configuration
+    @EnableCaching
+    static class CacheConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(UserServiceImpl.USER_CACHE);
+        }
+    }
+
+    @MockBean
+    UserRepository userRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    User user = new User(1L, "Tod", "user@user.com");
+
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache(UserServiceImpl.USER_CACHE).clear();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void willServeRepeatedLookupFromCache() {
+        userService.findById(1L);
+        userService.findById(1L);
+
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void willRefreshCacheOnUpdate() {
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        userService.findById(1L);
+        userService.update(new User(1L, "Bob", null));
+
+        Assertions.assertThat(userService.findById(1L).getName()).isEqualTo("Bob");
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void willEvictOnDelete() {
+        userService.findById(1L);
+        userService.deleteById(1L);
+        userService.findById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+}